@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.text.BoringLayout;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+/**
+ * Lays out boring labels, which are most of them, with cheap {@link BoringLayout}s that are
+ * reused for other items. Labels that are not boring, like right-to-left text, complex scripts or
+ * styled text, are laid out with {@link StaticLayout}, which picker keeps for as long as item is
+ * near the screen. Layout is as wide as the label and labels come without line breaks, so it
+ * always has a single line.
+ */
+public class DefaultItemLayoutStrategy extends ItemLayoutStrategy {
+
+    @Override
+    public Layout makeLayout(CharSequence text, int textWidth, BoringLayout.Metrics boring,
+            TextPaint paint, int width, Layout recycled) {
+
+        if (boring == null) {
+            // layout is wide enough for the whole label, so it is not wrapped
+            return new StaticLayout(text, paint, Math.max(width, textWidth),
+                    Layout.Alignment.ALIGN_CENTER, 1f, 1f, false);
+        }
+
+        if (recycled instanceof BoringLayout) {
+            return ((BoringLayout) recycled).replaceOrMake(text, paint, width,
+                    Layout.Alignment.ALIGN_CENTER, 1f, 1f, boring, false);
+        }
+
+        return new BoringLayout(text, paint, width, Layout.Alignment.ALIGN_CENTER, 1f, 1f, boring,
+                false);
+    }
+
+    @Override
+    public boolean isRecyclable(Layout layout) {
+        return layout instanceof BoringLayout;
+    }
+
+}
@@ -16,43 +16,57 @@
 
 package com.wefika.horizontalpicker;
 
-import android.animation.ArgbEvaluator;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.Typeface;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.Looper;
 import android.os.Message;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.support.v4.text.TextDirectionHeuristicCompat;
 import android.support.v4.text.TextDirectionHeuristicsCompat;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
 import android.support.v4.widget.ExploreByTouchHelper;
-import android.text.BoringLayout;
 import android.text.Layout;
 import android.text.TextPaint;
 import android.text.TextUtils;
 import android.util.AttributeSet;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.util.TypedValue;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.accessibility.AccessibilityEvent;
+import android.view.animation.AnimationUtils;
 import android.view.animation.DecelerateInterpolator;
 import android.widget.EdgeEffect;
 import android.widget.OverScroller;
 
+import com.wefika.horizontalpicker.core.PickerColors;
+import com.wefika.horizontalpicker.core.PickerGeometry;
+
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Created by Blaž Šolar on 24/01/14.
@@ -71,6 +85,36 @@ public class HorizontalPicker extends View {
      */
     private static final int SELECTOR_ADJUSTMENT_DURATION_MILLIS = 800;
 
+    /**
+     * Duration of animation for each item that is scrolled over when jumping to item.
+     */
+    private static final int SELECTOR_JUMP_ITEM_DURATION_MILLIS = 80;
+
+    /**
+     * Maximum duration of animated jump to item, no matter how far it is.
+     */
+    private static final int SELECTOR_JUMP_MAX_DURATION_MILLIS = 400;
+
+    /**
+     * Distance from item in dips that is closed immediately instead of with adjusting animation.
+     */
+    private static final int SELECTOR_SNAP_DISTANCE_DIPS = 2;
+
+    /**
+     * Value of {@link #pressedItem} when no item is pressed. Positions of items can be negative in
+     * circular mode, so -1 can not be used.
+     */
+    private static final int NO_ITEM = Integer.MIN_VALUE;
+
+    /**
+     * Id of selected item when adapter has no stable ids.
+     */
+    private static final long NO_ITEM_ID = Long.MIN_VALUE;
+
+    private static final int[] STATE_PRESSED = { android.R.attr.state_pressed };
+    private static final int[] STATE_SELECTED = { android.R.attr.state_selected };
+    private static final int[] STATE_PRESSED_SELECTED = { android.R.attr.state_pressed, android.R.attr.state_selected };
+
     /**
      * Determines speed during touch scrolling.
      */
@@ -90,14 +134,82 @@ public class HorizontalPicker extends View {
 
     private int touchSlop;
 
+    /**
+     * Distance in pixels that is closed immediately when adjusting to nearest item.
+     */
+    private final int snapDistance;
+
     private CharSequence[] values;
-    private BoringLayout[] layouts;
+    private PickerAdapter adapter;
+    private final AdapterObserver adapterObserver = new AdapterObserver();
+
+    /**
+     * Layouts of items that are currently visible (or within {@link #layoutCacheMargin} of visible
+     * window), mapped by item index.
+     */
+    private final SparseArray<Layout> layouts = new SparseArray<Layout>();
+
+    /**
+     * Layouts of items that scrolled out of the window, ready to be reused for new items.
+     */
+    private final ArrayList<Layout> recycledLayouts = new ArrayList<Layout>();
+
+    /**
+     * Decides which kind of text layout is created for each item.
+     */
+    private ItemLayoutStrategy layoutStrategy = new DefaultItemLayoutStrategy();
+
+    /**
+     * Number of items on each side of visible window for which layouts are kept.
+     */
+    private int layoutCacheMargin = 2;
+
+    /**
+     * Executor on which item layouts are prepared. If null layouts are built on UI thread.
+     */
+    private Executor layoutExecutor;
+
+    /**
+     * Cache of measured labels shared with other pickers, null if labels are measured per picker.
+     */
+    private volatile TextLayoutCache textLayoutCache;
+
+    /**
+     * Incremented every time existing layouts become invalid, so layouts that are being prepared
+     * in background can be discarded.
+     */
+    private volatile int layoutGeneration;
+
+    /**
+     * Items which layouts are being prepared in background.
+     */
+    private final BitSet pendingLayouts = new BitSet();
+
+    /**
+     * Items which layouts are needed, but have not been submitted to executor yet.
+     */
+    private final BitSet requestedLayouts = new BitSet();
+
+    /**
+     * Rendered labels of items, null if render cache is disabled.
+     */
+    private RenderCache renderCache;
+    private final Paint bitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
 
     private TextPaint textPaint;
-    private BoringLayout.Metrics boringMetrics;
+
+    /**
+     * Font metrics of {@link #textPaint}, recomputed only when text size or typeface changes.
+     */
+    private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+
+    /**
+     * Height of text line, used when picker is measured.
+     */
+    private int textHeight;
     private TextUtils.TruncateAt ellipsize;
 
-    private int itemWidth;
+    private final PickerGeometry geometry = new PickerGeometry();
     private RectF itemClipBounds;
     private RectF itemClipBoundsOffset;
 
@@ -109,27 +221,120 @@ public class HorizontalPicker extends View {
     private int previousScrollerX;
 
     private boolean scrollingX;
-    private int pressedItem = -1;
+    private int pressedItem = NO_ITEM;
+
+    /**
+     * Bounds of single item, reused for invalidating it.
+     */
+    private final Rect itemBounds = new Rect();
 
     private ColorStateList textColor;
 
+    /**
+     * Text colors resolved from {@link #textColor} for states used while drawing.
+     */
+    private final PickerColors colors = new PickerColors();
+
     private OnItemSelected onItemSelected;
     private OnItemClicked onItemClicked;
+    private OnValueSelected onValueSelected;
+    private OnScrollPositionChanged onScrollPositionChanged;
+
+    /**
+     * Minimum time between two scroll position notifications.
+     */
+    private long scrollPositionInterval;
+    private float lastScrollPosition = Float.NaN;
+    private long lastScrollPositionTime;
+    private boolean scrollPositionPending;
+
+    /**
+     * Notifies scroll position listener on next animation frame, outside of draw pass, so it can
+     * change other views. Runnable is reused, so dispatching does not allocate.
+     */
+    private final Runnable scrollPositionDispatcher = new Runnable() {
+        @Override
+        public void run() {
+            scrollPositionPending = false;
+            dispatchScrollPosition(AnimationUtils.currentAnimationTimeMillis());
+        }
+    };
+
+    /**
+     * Notifies listeners about selected item. Runnables are reused, so dispatching does not
+     * allocate.
+     */
+    private final Runnable selectedDispatcher = new Runnable() {
+        @Override
+        public void run() {
+            int index = getSelectedItem();
+            if (onItemSelected != null) {
+                onItemSelected.onItemSelected(index);
+            }
+            if (onValueSelected != null && adapter instanceof RangeAdapter) {
+                onValueSelected.onValueSelected(index, ((RangeAdapter) adapter).getValue(index));
+            }
+
+            if (metricsListener != null && metricsFlingStartTime >= 0) {
+                metricsListener.onFlingSettled(SystemClock.uptimeMillis() - metricsFlingStartTime);
+            }
+            metricsFlingStartTime = -1;
+        }
+    };
+
+    private final Runnable clickedDispatcher = new Runnable() {
+        @Override
+        public void run() {
+            if (onItemClicked != null) {
+                onItemClicked.onItemClicked(getSelectedItem());
+            }
+        }
+    };
+
+    private PickerMetricsListener metricsListener;
+
+    /**
+     * Counters of work done since metrics were last reported.
+     */
+    private int metricsLayoutsCreated;
+    private int metricsLayoutsRecycled;
+    private int metricsScrollerFrames;
+
+    /**
+     * Time when last fling started or -1 if there is no fling to report.
+     */
+    private long metricsFlingStartTime = -1;
 
     private int selectedItem;
+    private long selectedItemId = NO_ITEM_ID;
 
     private EdgeEffect leftEdgeEffect;
     private EdgeEffect rightEdgeEffect;
 
     private Marquee marquee;
-    private int marqueeRepeatLimit = 3;
+    private boolean attachedToWindow;
 
-    private float dividerSize = 0;
+    private boolean animationLayerEnabled;
+    private AnimationLayerPolicy animationLayerPolicy;
 
-    private int sideItems = 1;
+    /**
+     * Whether picker has been promoted to hardware layer for running animation.
+     */
+    private boolean animationLayerActive;
+    private int marqueeRepeatLimit = 3;
 
     private TextDirectionHeuristicCompat textDir;
 
+    /**
+     * Items for which text direction has already been resolved.
+     */
+    private final BitSet textDirResolved = new BitSet();
+
+    /**
+     * Items with right-to-left text direction. Valid only for items in {@link #textDirResolved}.
+     */
+    private final BitSet textDirRtl = new BitSet();
+
     private final PickerTouchHelper touchHelper;
 
     public HorizontalPicker(Context context) {
@@ -156,19 +361,23 @@ public class HorizontalPicker extends View {
 
         CharSequence[] values;
         int ellipsize = 3; // END default value
-        int sideItems = this.sideItems;
+        int sideItems = geometry.getSideItems();
+        boolean circular = false;
 
         try {
-            textColor = a.getColorStateList(R.styleable.HorizontalPicker_android_textColor);
+            ColorStateList textColor = a.getColorStateList(R.styleable.HorizontalPicker_android_textColor);
             if (textColor == null) {
                 textColor = ColorStateList.valueOf(0xFF000000);
             }
+            setTextColor(textColor);
 
             values = a.getTextArray(R.styleable.HorizontalPicker_values);
             ellipsize = a.getInt(R.styleable.HorizontalPicker_android_ellipsize, ellipsize);
             marqueeRepeatLimit = a.getInt(R.styleable.HorizontalPicker_android_marqueeRepeatLimit, marqueeRepeatLimit);
-            dividerSize = a.getDimension(R.styleable.HorizontalPicker_dividerSize, dividerSize);
+            geometry.setDividerSize(a.getDimension(R.styleable.HorizontalPicker_dividerSize,
+                    geometry.getDividerSize()));
             sideItems = a.getInt(R.styleable.HorizontalPicker_sideItems, sideItems);
+            circular = a.getBoolean(R.styleable.HorizontalPicker_circular, circular);
 
             float textSize = a.getDimension(R.styleable.HorizontalPicker_android_textSize, -1);
             if(textSize > -1) {
@@ -193,14 +402,7 @@ public class HorizontalPicker extends View {
                 break;
         }
 
-        Paint.FontMetricsInt fontMetricsInt = textPaint.getFontMetricsInt();
-        boringMetrics = new BoringLayout.Metrics();
-        boringMetrics.ascent = fontMetricsInt.ascent;
-        boringMetrics.bottom = fontMetricsInt.bottom;
-        boringMetrics.descent = fontMetricsInt.descent;
-        boringMetrics.leading = fontMetricsInt.leading;
-        boringMetrics.top = fontMetricsInt.top;
-        boringMetrics.width = itemWidth;
+        updateTextHeight();
 
         setWillNotDraw(false);
 
@@ -214,11 +416,16 @@ public class HorizontalPicker extends View {
         maximumFlingVelocity = configuration.getScaledMaximumFlingVelocity()
                 / SELECTOR_MAX_FLING_VELOCITY_ADJUSTMENT;
         overscrollDistance = configuration.getScaledOverscrollDistance();
+        snapDistance = (int) (SELECTOR_SNAP_DISTANCE_DIPS
+                * context.getResources().getDisplayMetrics().density + .5f);
 
         previousScrollerX = Integer.MIN_VALUE;
 
+        marquee = new Marquee(this);
+
         setValues(values);
         setSideItems(sideItems);
+        geometry.setCircular(circular);
 
         touchHelper = new PickerTouchHelper(this);
         ViewCompat.setAccessibilityDelegate(this, touchHelper);
@@ -236,9 +443,7 @@ public class HorizontalPicker extends View {
         if(heightMode == MeasureSpec.EXACTLY) {
             height = heightSize;
         } else {
-            Paint.FontMetrics fontMetrics = textPaint.getFontMetrics();
-            int heightText = (int) (Math.abs(fontMetrics.ascent) + Math.abs(fontMetrics.descent));
-            heightText += getPaddingTop() + getPaddingBottom();
+            int heightText = textHeight + getPaddingTop() + getPaddingBottom();
 
             if (heightMode == MeasureSpec.AT_MOST) {
                 height = Math.min(heightSize, heightText);
@@ -254,69 +459,116 @@ public class HorizontalPicker extends View {
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
 
+        long drawStartTime = metricsListener != null ? System.nanoTime() : 0;
+        int itemsDrawn = 0;
+
         int saveCount = canvas.getSaveCount();
         canvas.save();
 
         int selectedItem = this.selectedItem;
+        boolean circular = geometry.isCircular();
+
+        int itemWidth = geometry.getItemWidth();
+        float itemWithPadding = itemWidth + geometry.getDividerSize();
+
+        int itemCount = getItemCount();
+        if (itemCount > 0 && itemWithPadding > 0) {
 
-        float itemWithPadding = itemWidth + dividerSize;
+            // only items that are at least partially inside of the view are drawn
+            int first = geometry.getFirstVisibleItem(getScrollX());
+            int last = geometry.getLastVisibleItem(getScrollX());
+            int selectedPosition;
+            if (circular) {
+                // loop goes over positions, which are mapped to items when they are drawn
+                selectedPosition = geometry.getPositionFromCoordinates(getScrollX());
+            } else {
+                first = Math.max(0, first);
+                last = Math.min(itemCount - 1, last);
+                selectedPosition = selectedItem;
+            }
+
+            recycleLayouts(first - layoutCacheMargin, last + layoutCacheMargin);
+
+            // translate horizontal to center and then to first visible item
+            canvas.translate(itemWithPadding * (geometry.getSideItems() + first), 0);
 
-        // translate horizontal to center
-        canvas.translate(itemWithPadding * sideItems, 0);
+            for (int i = first; i <= last; i++) {
 
-        if (values != null) {
-            for (int i = 0; i < values.length; i++) {
+                int index = geometry.getItemIndex(i, itemCount);
 
                 // set text color for item
                 textPaint.setColor(getTextColor(i));
 
                 // get text layout
-                BoringLayout layout = layouts[i];
+                Layout layout = getLayout(index);
+                if (layout == null) {
+                    // layout is still being prepared, leave item empty for now
+                    canvas.translate(itemWithPadding, 0);
+                    continue;
+                }
 
-                int saveCountHeight = canvas.getSaveCount();
-                canvas.save();
+                itemsDrawn++;
 
-                float x = 0;
+                // layouts wider than item are centered over it
+                float x = (layout.getWidth() - itemWidth) / 2f;
 
                 float lineWidth = layout.getLineWidth(0);
                 if (lineWidth > itemWidth) {
-                    if (isRtl(values[i])) {
+                    if (isRtl(index)) {
                         x += (lineWidth - itemWidth) / 2;
                     } else {
                         x -= (lineWidth - itemWidth) / 2;
                     }
                 }
 
-                if (marquee != null && i == selectedItem) {
-                    x += marquee.getScroll();
-                }
+                boolean marqueeItem = !marquee.isStopped() && i == selectedPosition;
 
-                // translate vertically to center
-                canvas.translate(-x, (canvas.getHeight() - layout.getHeight()) / 2);
+                if (renderCache != null && !marqueeItem && itemWidth > 0 && layout.getHeight() > 0) {
+
+                    // draw pre-rendered label, paint color is used for alpha only bitmap
+                    bitmapPaint.setColor(textPaint.getColor());
+                    canvas.drawBitmap(getItemBitmap(index, layout, x), 0,
+                            (canvas.getHeight() - layout.getHeight()) / 2, bitmapPaint);
 
-                RectF clipBounds;
-                if (x == 0) {
-                    clipBounds = itemClipBounds;
                 } else {
-                    clipBounds = itemClipBoundsOffset;
-                    clipBounds.set(itemClipBounds);
-                    clipBounds.offset(x, 0);
-                }
 
-                canvas.clipRect(clipBounds);
-                layout.draw(canvas);
+                    int saveCountHeight = canvas.getSaveCount();
+                    canvas.save();
 
-                if (marquee != null && i == selectedItem && marquee.shouldDrawGhost()) {
-                    canvas.translate(marquee.getGhostOffset(), 0);
+                    if (marqueeItem) {
+                        x += marquee.getScroll();
+                    }
+
+                    // translate vertically to center
+                    canvas.translate(-x, (canvas.getHeight() - layout.getHeight()) / 2);
+
+                    RectF clipBounds;
+                    if (x == 0) {
+                        clipBounds = itemClipBounds;
+                    } else {
+                        clipBounds = itemClipBoundsOffset;
+                        clipBounds.set(itemClipBounds);
+                        clipBounds.offset(x, 0);
+                    }
+
+                    canvas.clipRect(clipBounds);
                     layout.draw(canvas);
-                }
 
-                // restore vertical translation
-                canvas.restoreToCount(saveCountHeight);
+                    if (marqueeItem && marquee.shouldDrawGhost()) {
+                        canvas.translate(marquee.getGhostOffset(), 0);
+                        layout.draw(canvas);
+                    }
+
+                    // restore vertical translation
+                    canvas.restoreToCount(saveCountHeight);
+
+                }
 
                 // translate horizontal for 1 item
                 canvas.translate(itemWithPadding, 0);
             }
+
+            submitRequestedLayouts();
         }
 
         // restore horizontal translation
@@ -324,6 +576,14 @@ public class HorizontalPicker extends View {
 
         drawEdgeEffect(canvas, leftEdgeEffect, 270);
         drawEdgeEffect(canvas, rightEdgeEffect, 90);
+
+        if (metricsListener != null) {
+            metricsListener.onFrameDrawn(System.nanoTime() - drawStartTime, itemsDrawn, itemCount,
+                    metricsLayoutsCreated, metricsLayoutsRecycled, metricsScrollerFrames);
+        }
+        metricsLayoutsCreated = 0;
+        metricsLayoutsRecycled = 0;
+        metricsScrollerFrames = 0;
     }
 
     @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
@@ -332,19 +592,32 @@ public class HorizontalPicker extends View {
         super.onRtlPropertiesChanged(layoutDirection);
 
         textDir = getTextDirectionHeuristic();
+        clearTextDirections();
     }
 
     /**
-     * TODO cache values
-     * @param text
-     * @return
+     * Checks if text of item has right-to-left direction. Direction is resolved once per item and
+     * cached until values or text direction of the view change.
+     * @param item Index of item
+     * @return true if item text is right-to-left
      */
-    private boolean isRtl(CharSequence text) {
-        if (textDir == null) {
-            textDir = getTextDirectionHeuristic();
+    private boolean isRtl(int item) {
+        if (!textDirResolved.get(item)) {
+            if (textDir == null) {
+                textDir = getTextDirectionHeuristic();
+            }
+
+            CharSequence text = adapter.getItem(item);
+            textDirRtl.set(item, textDir.isRtl(text, 0, text.length()));
+            textDirResolved.set(item);
         }
 
-        return textDir.isRtl(text, 0, text.length());
+        return textDirRtl.get(item);
+    }
+
+    private void clearTextDirections() {
+        textDirResolved.clear();
+        textDirRtl.clear();
     }
 
     private TextDirectionHeuristicCompat getTextDirectionHeuristic() {
@@ -377,170 +650,570 @@ public class HorizontalPicker extends View {
 
     private void remakeLayout() {
 
-        if (layouts != null && layouts.length > 0 && getWidth() > 0)  {
-            for (int i = 0; i < layouts.length; i++) {
-                layouts[i].replaceOrMake(values[i], textPaint, itemWidth,
-                        Layout.Alignment.ALIGN_CENTER, 1f, 1f, boringMetrics, false, ellipsize,
-                        itemWidth);
-            }
-        }
+        // layouts are rebuilt on demand when items are drawn
+        clearLayouts();
 
     }
 
-    private void drawEdgeEffect(Canvas canvas, EdgeEffect edgeEffect, int degrees) {
+    /**
+     * Discards all layouts, including those that are currently being prepared in background.
+     */
+    private void clearLayouts() {
+        recycleLayouts(0, -1);
 
-        if (canvas == null || edgeEffect == null || (degrees != 90 && degrees != 270)) {
-            return;
+        if (renderCache != null) {
+            renderCache.evictAll();
         }
 
-        if(!edgeEffect.isFinished()) {
-            final int restoreCount = canvas.getSaveCount();
-            final int width = getWidth();
-            final int height = getHeight();
-
-            canvas.rotate(degrees);
-
-            if (degrees == 270) {
-                canvas.translate(-height, Math.max(0, getScrollX()));
-            } else { // 90
-                canvas.translate(0, -(Math.max(getScrollRange(), getScaleX()) + width));
-            }
+        layoutGeneration++;
+        pendingLayouts.clear();
+        requestedLayouts.clear();
+    }
 
-            edgeEffect.setSize(height, width);
-            if(edgeEffect.draw(canvas)) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-                    postInvalidateOnAnimation();
-                } else {
-                    postInvalidate();
+    /**
+     * Returns layout for specified item. If there is no layout for it yet, recycled one is reused
+     * or new one is created. When layouts are prepared in background, null is returned until
+     * layout is ready.
+     * @param index Index of item to get layout for
+     * @return Layout for item
+     */
+    private Layout getLayout(int index) {
+
+        Layout layout = layouts.get(index);
+        if (layout == null) {
+            if (layoutExecutor != null) {
+                if (!pendingLayouts.get(index)) {
+                    pendingLayouts.set(index);
+                    requestedLayouts.set(index);
                 }
+                return null;
             }
 
-            canvas.restoreToCount(restoreCount);
+            int itemWidth = geometry.getItemWidth();
+            TextLayoutCache cache = textLayoutCache;
+            TextLayoutCache.Entry entry = cache != null
+                    ? cache.get(adapter.getItem(index), textPaint, itemWidth, ellipsize)
+                    : TextLayoutCache.measure(adapter.getItem(index), textPaint, itemWidth, ellipsize);
+
+            layout = makeLayout(entry);
+            layouts.put(index, layout);
         }
 
+        return layout;
     }
 
     /**
-     * Calculates text color for specified item based on its position and state.
-     *
-     * @param item Index of item to get text color for
-     * @return Item text color
+     * Creates layout for measured label with layout strategy, reusing recycled layout if strategy
+     * accepts it.
+     * @param entry Measured label
+     * @return Layout for label
      */
-    private int getTextColor(int item) {
+    private Layout makeLayout(TextLayoutCache.Entry entry) {
 
-        int scrollX = getScrollX();
+        int recycled = recycledLayouts.size();
+        Layout recycledLayout = recycled > 0 ? recycledLayouts.remove(recycled - 1) : null;
+
+        Layout layout = layoutStrategy.makeLayout(entry.text, entry.width, entry.boring, textPaint,
+                geometry.getItemWidth(), recycledLayout);
 
-        // set color of text
-        int color = textColor.getDefaultColor();
-        int itemWithPadding = (int) (itemWidth + dividerSize);
-        if (scrollX > itemWithPadding * item - itemWithPadding / 2 &&
-                scrollX < itemWithPadding * (item + 1) - itemWithPadding / 2) {
-            int position = scrollX - itemWithPadding / 2;
-            color = getColor(position, item);
-        } else if(item == pressedItem) {
-            color = textColor.getColorForState(new int[] { android.R.attr.state_pressed }, color);
+        if (layout == recycledLayout) {
+            metricsLayoutsRecycled++;
+        } else {
+            metricsLayoutsCreated++;
+            if (recycledLayout != null) {
+                recycledLayouts.add(recycledLayout); // still available for other items
+            }
         }
 
-        return color;
+        return layout;
+    }
 
+    /**
+     * Adds layout that is not used any more to recycled layouts pool, if strategy can reuse it
+     * and pool is not full yet.
+     * @param layout Layout to recycle
+     */
+    private void recycleLayout(Layout layout) {
+        int maxRecycled = geometry.getSideItems() * 2 + 2 + layoutCacheMargin * 2;
+        if (recycledLayouts.size() < maxRecycled && layoutStrategy.isRecyclable(layout)) {
+            recycledLayouts.add(layout);
+        }
     }
 
-    @Override
-    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
-        super.onSizeChanged(w, h, oldw, oldh);
+    /**
+     * Returns rendered label of item from render cache. If label is not cached yet it is rendered
+     * into alpha only bitmap, so it can be drawn with any text color.
+     * @param index Index of item
+     * @param layout Layout of item
+     * @param x Horizontal offset of text inside item bounds
+     * @return Bitmap with rendered label
+     */
+    private Bitmap getItemBitmap(int index, Layout layout, float x) {
 
-        calculateItemSize(w, h);
+        Bitmap bitmap = renderCache.get(index);
+        if (bitmap == null) {
+            bitmap = Bitmap.createBitmap(geometry.getItemWidth(), layout.getHeight(), Bitmap.Config.ALPHA_8);
+
+            Canvas canvas = new Canvas(bitmap);
+            canvas.translate(-x, 0);
+
+            int color = textPaint.getColor();
+            textPaint.setColor(0xFFFFFFFF);
+            layout.draw(canvas);
+            textPaint.setColor(color);
+
+            renderCache.put(index, bitmap);
+        }
+
+        return bitmap;
     }
 
-    @Override
-    public boolean onTouchEvent(MotionEvent event) {
+    /**
+     * Submits all requested layouts to executor as a single task, so they are published together.
+     */
+    private void submitRequestedLayouts() {
 
-        if(!isEnabled()) {
-            return false;
+        if (layoutExecutor == null || requestedLayouts.isEmpty()) {
+            return;
         }
 
-        if (mVelocityTracker == null) {
-            mVelocityTracker = VelocityTracker.obtain();
+        int[] items = new int[requestedLayouts.cardinality()];
+        CharSequence[] texts = new CharSequence[items.length];
+        for (int i = 0, index = requestedLayouts.nextSetBit(0); index >= 0;
+                i++, index = requestedLayouts.nextSetBit(index + 1)) {
+            items[i] = index;
+            texts[i] = adapter.getItem(index);
         }
-        mVelocityTracker.addMovement(event);
+        requestedLayouts.clear();
 
-        int action = event.getActionMasked();
-        switch (action) {
-            case MotionEvent.ACTION_MOVE:
+        layoutExecutor.execute(new LayoutTask(this, layoutGeneration, items, texts));
+    }
 
-                float currentMoveX = event.getX();
+    /**
+     * Called on UI thread when layouts have been prepared in background.
+     * @param task Task that prepared layouts
+     */
+    private void onLayoutsPrepared(LayoutTask task) {
 
-                int deltaMoveX = (int) (lastDownEventX - currentMoveX);
+        if (task.generation != layoutGeneration) {
+            // values or item size have changed in the meantime
+            return;
+        }
 
-                if(scrollingX ||
-                        (Math.abs(deltaMoveX) > touchSlop) && values != null && values.length > 0) {
+        for (int i = 0; i < task.items.length; i++) {
+            int index = task.items[i];
+            pendingLayouts.clear(index);
 
-                    if(!scrollingX) {
-                        deltaMoveX = 0;
-                        pressedItem = -1;
-                        scrollingX = true;
-                        getParent().requestDisallowInterceptTouchEvent(true);
-                        stopMarqueeIfNeeded();
-                    }
+            layouts.put(index, makeLayout(task.entries[i]));
+        }
 
-                    final int range = getScrollRange();
+        // marquee waits until scrolling ends, as selected item is not known before
+        if (marquee.isStopped() && getWidth() > 0 && !scrollingX) {
+            startMarqueeIfNeeded();
+        }
+        invalidate();
+    }
 
-                    if(overScrollBy(deltaMoveX, 0, getScrollX(), 0, range, 0,
-                            overscrollDistance, 0, true)) {
-                        mVelocityTracker.clear();
-                    }
+    /**
+     * Moves layouts of all items outside of specified range to recycled layouts pool. In circular
+     * mode range is given in positions, which wrap around.
+     * @param first Position of first item which layout should be kept
+     * @param last Position of last item which layout should be kept
+     */
+    private void recycleLayouts(int first, int last) {
 
-                    final float pulledToX = getScrollX() + deltaMoveX;
-                    if(pulledToX < 0) {
-                        leftEdgeEffect.onPull((float) deltaMoveX / getWidth());
-                        if(!rightEdgeEffect.isFinished()) {
-                            rightEdgeEffect.onRelease();
-                        }
-                    } else if(pulledToX > range) {
-                        rightEdgeEffect.onPull((float) deltaMoveX / getWidth());
-                        if(!leftEdgeEffect.isFinished()) {
-                            leftEdgeEffect.onRelease();
-                        }
-                    }
+        int itemCount = getItemCount();
+        boolean circular = geometry.isCircular();
+        if (circular && last - first + 1 >= itemCount) {
+            return; // every item is inside of the window
+        }
 
-                    lastDownEventX = currentMoveX;
-                    invalidate();
+        for (int i = layouts.size() - 1; i >= 0; i--) {
+            int index = layouts.keyAt(i);
+            boolean inWindow = circular
+                    ? geometry.getItemIndex(index - first, itemCount) <= last - first
+                    : index >= first && index <= last;
+            if (!inWindow) {
+                recycleLayout(layouts.valueAt(i));
+                layouts.removeAt(i);
+            }
+        }
 
-                }
+    }
 
-                break;
-            case MotionEvent.ACTION_DOWN:
+    /**
+     * Updates cached layouts, text directions and rendered labels after items in range
+     * [positionStart, positionStart + removedCount) have been replaced by {@code insertedCount}
+     * new items. Caches of other items are kept and moved to their new positions.
+     * @param positionStart Position of first changed item
+     * @param removedCount Number of items that were removed or changed
+     * @param insertedCount Number of items that were inserted or changed
+     */
+    private void onItemRangeReplaced(int positionStart, int removedCount, int insertedCount) {
+
+        int positionEnd = positionStart + removedCount;
+        int delta = insertedCount - removedCount;
+
+        int size = layouts.size();
+        if (size > 0) {
+            int[] keys = new int[size];
+            Layout[] values = new Layout[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = layouts.keyAt(i);
+                values[i] = layouts.valueAt(i);
+            }
 
-                if(!adjustScrollerX.isFinished()) {
-                    adjustScrollerX.forceFinished(true);
-                } else if(!flingScrollerX.isFinished()) {
-                    flingScrollerX.forceFinished(true);
+            layouts.clear();
+            for (int i = 0; i < size; i++) {
+                if (keys[i] < positionStart) {
+                    layouts.put(keys[i], values[i]);
+                } else if (keys[i] >= positionEnd) {
+                    layouts.put(keys[i] + delta, values[i]);
                 } else {
-                    scrollingX = false;
+                    recycleLayout(values[i]);
                 }
+            }
+        }
 
-                lastDownEventX = event.getX();
+        if (delta == 0) {
+            textDirResolved.clear(positionStart, positionEnd);
+            textDirRtl.clear(positionStart, positionEnd);
+        } else {
+            moveBits(textDirResolved, positionEnd, positionStart + insertedCount);
+            moveBits(textDirRtl, positionEnd, positionStart + insertedCount);
+        }
 
-                if(!scrollingX) {
-                    pressedItem = getPositionFromTouch(event.getX());
+        if (renderCache != null) {
+            Map<Integer, Bitmap> bitmaps = renderCache.snapshot();
+            renderCache.evictAll();
+            for (Map.Entry<Integer, Bitmap> entry : bitmaps.entrySet()) {
+                int index = entry.getKey();
+                if (index < positionStart) {
+                    renderCache.put(index, entry.getValue());
+                } else if (index >= positionEnd) {
+                    renderCache.put(index + delta, entry.getValue());
                 }
-                invalidate();
-
-                break;
-            case MotionEvent.ACTION_UP:
+            }
+        }
 
-                VelocityTracker velocityTracker = mVelocityTracker;
-                velocityTracker.computeCurrentVelocity(1000, maximumFlingVelocity);
-                int initialVelocityX = (int) velocityTracker.getXVelocity();
+        // layouts that are being prepared could belong to moved items
+        layoutGeneration++;
+        pendingLayouts.clear();
+        requestedLayouts.clear();
 
-                if(scrollingX && Math.abs(initialVelocityX) > mMinimumFlingVelocity) {
-                    flingX(initialVelocityX);
-                } else if (values != null) {
-                    float positionX = event.getX();
-                    if(!scrollingX) {
+    }
 
-                        int itemPos = getPositionOnScreen(positionX);
-                        int relativePos = itemPos - sideItems;
+    /**
+     * Remembers id of selected item, so it can be found again after data set changes.
+     */
+    private void rememberSelectedItemId() {
+        if (adapter != null && adapter.hasStableIds()
+                && selectedItem >= 0 && selectedItem < adapter.getCount()) {
+            selectedItemId = adapter.getItemId(selectedItem);
+        } else {
+            selectedItemId = NO_ITEM_ID;
+        }
+    }
+
+    /**
+     * Finds item with specified stable id. Search goes outwards from selected item, as changed
+     * items usually move only a little.
+     * @param id Id of item
+     * @return Position of item or -1 if it is not found or adapter has no stable ids
+     */
+    private int findItemPosition(long id) {
+
+        if (id == NO_ITEM_ID || adapter == null || !adapter.hasStableIds()) {
+            return -1;
+        }
+
+        int itemCount = adapter.getCount();
+        int start = Math.max(0, Math.min(selectedItem, itemCount - 1));
+        for (int offset = 0; start + offset < itemCount || start - offset >= 0; offset++) {
+            if (start + offset < itemCount && adapter.getItemId(start + offset) == id) {
+                return start + offset;
+            }
+            if (offset > 0 && start - offset >= 0 && adapter.getItemId(start - offset) == id) {
+                return start - offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves all bits from specified index on to new index.
+     * @param bits Bits to move
+     * @param from Index of first bit to move
+     * @param to New index of first moved bit
+     */
+    static void moveBits(BitSet bits, int from, int to) {
+        BitSet moved = bits.get(from, Math.max(from, bits.length()));
+        bits.clear(Math.min(from, to), Math.max(Math.max(from, to), bits.length()));
+        for (int i = moved.nextSetBit(0); i >= 0; i = moved.nextSetBit(i + 1)) {
+            bits.set(to + i);
+        }
+    }
+
+    /**
+     * Keeps selected item and scroll position in place after items before it have been inserted
+     * or removed. If selected item itself was removed, closest remaining item gets selected.
+     * @param positionStart Position of first changed item
+     * @param removedCount Number of removed items
+     * @param insertedCount Number of inserted items
+     */
+    private void updateSelectionForRange(int positionStart, int removedCount, int insertedCount) {
+
+        int positionEnd = positionStart + removedCount;
+        int delta = insertedCount - removedCount;
+
+        if (getItemCount() - delta <= 0) {
+            // there was no item to keep in place, so first of the inserted items gets selected
+            flingScrollerX.forceFinished(true);
+            adjustScrollerX.forceFinished(true);
+
+            selectedItem = 0;
+            rememberSelectedItemId();
+            scrollToItem(0);
+            return;
+        }
+
+        int selected = getSelectedItem();
+
+        boolean flinging = !flingScrollerX.isFinished();
+        boolean adjusting = !adjustScrollerX.isFinished();
+
+        if (selected >= positionEnd) {
+            // scrollers work with absolute positions, so running animation can not be moved
+            flingScrollerX.forceFinished(true);
+            adjustScrollerX.forceFinished(true);
+
+            selectedItem = Math.max(0, selectedItem + delta);
+            rememberSelectedItemId();
+            scrollTo(getScrollX() + geometry.getItemX(delta), 0);
+
+            if (flinging) {
+                finishScrolling();
+            } else if (adjusting) {
+                adjustToNearestItemX();
+            }
+        } else if (selected >= positionStart) {
+            flingScrollerX.forceFinished(true);
+            adjustScrollerX.forceFinished(true);
+            scrollingX = false;
+
+            selectedItem = Math.max(0, Math.min(positionStart, getItemCount() - 1));
+            rememberSelectedItemId();
+            scrollToItem(selectedItem);
+            startMarqueeIfNeeded();
+        }
+
+    }
+
+    private void drawEdgeEffect(Canvas canvas, EdgeEffect edgeEffect, int degrees) {
+
+        if (canvas == null || edgeEffect == null || geometry.isCircular()
+                || (degrees != 90 && degrees != 270)) {
+            return;
+        }
+
+        if(!edgeEffect.isFinished()) {
+            final int restoreCount = canvas.getSaveCount();
+            final int width = getWidth();
+            final int height = getHeight();
+
+            canvas.rotate(degrees);
+
+            if (degrees == 270) {
+                canvas.translate(-height, Math.max(0, getScrollX()));
+            } else { // 90
+                canvas.translate(0, -(Math.max(getScrollRange(), getScaleX()) + width));
+            }
+
+            edgeEffect.setSize(height, width);
+            if(edgeEffect.draw(canvas)) {
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                    postInvalidateOnAnimation();
+                } else {
+                    postInvalidate();
+                }
+            }
+
+            canvas.restoreToCount(restoreCount);
+        }
+
+    }
+
+    /**
+     * Calculates text color for specified item based on its position and state.
+     *
+     * @param item Index of item to get text color for
+     * @return Item text color
+     */
+    private int getTextColor(int item) {
+        return colors.getItemColor(geometry, getScrollX(), item, pressedItem);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        attachedToWindow = true;
+        updateMarquee();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        attachedToWindow = false;
+        updateMarquee();
+        stopAnimationLayer();
+
+        // position is delivered again with first frame after picker is attached
+        removeCallbacks(scrollPositionDispatcher);
+        scrollPositionPending = false;
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+
+        updateMarquee();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+
+        updateMarquee();
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+
+        updateMarquee();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+
+        calculateItemSize(w, h);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+
+        if(!isEnabled()) {
+            return false;
+        }
+
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(event);
+
+        int action = event.getActionMasked();
+        switch (action) {
+            case MotionEvent.ACTION_MOVE:
+
+                // event can batch several samples, but only the last one moves picker, as velocity
+                // tracker has already taken historical samples into account
+                float currentMoveX = event.getX();
+
+                if(scrollingX ||
+                        (Math.abs(lastDownEventX - currentMoveX) > touchSlop) && getItemCount() > 0) {
+
+                    if(!scrollingX) {
+                        lastDownEventX = currentMoveX;
+                        invalidateItem(pressedItem); // pressed item is released
+                        pressedItem = NO_ITEM;
+                        scrollingX = true;
+                        getParent().requestDisallowInterceptTouchEvent(true);
+                        stopMarqueeIfNeeded();
+                    }
+
+                    // only whole pixels are scrolled, fraction is carried over to next event
+                    int deltaMoveX = (int) (lastDownEventX - currentMoveX);
+                    if(deltaMoveX == 0) {
+                        break;
+                    }
+                    lastDownEventX -= deltaMoveX;
+
+                    final int range = getScrollRange();
+
+                    if(geometry.isCircular()) {
+                        // there are no edges to over scroll
+                        scrollBy(deltaMoveX, 0);
+                    } else if(overScrollBy(deltaMoveX, 0, getScrollX(), 0, range, 0,
+                            overscrollDistance, 0, true)) {
+                        mVelocityTracker.clear();
+                    }
+
+                    final float pulledToX = getScrollX() + deltaMoveX;
+                    if(!geometry.isCircular()) {
+                        // there are no edges to pull in circular mode
+                        if(pulledToX < 0) {
+                            leftEdgeEffect.onPull((float) deltaMoveX / getWidth());
+                            if(!rightEdgeEffect.isFinished()) {
+                                rightEdgeEffect.onRelease();
+                            }
+                            ViewCompat.postInvalidateOnAnimation(this);
+                        } else if(pulledToX > range) {
+                            rightEdgeEffect.onPull((float) deltaMoveX / getWidth());
+                            if(!leftEdgeEffect.isFinished()) {
+                                leftEdgeEffect.onRelease();
+                            }
+                            ViewCompat.postInvalidateOnAnimation(this);
+                        }
+                    }
+
+                    // scrollTo() already invalidates once per frame if scroll position changed
+
+                }
+
+                break;
+            case MotionEvent.ACTION_DOWN:
+
+                // fling interrupted by user will never settle by itself
+                metricsFlingStartTime = -1;
+
+                if(!adjustScrollerX.isFinished()) {
+                    adjustScrollerX.forceFinished(true);
+                } else if(!flingScrollerX.isFinished()) {
+                    flingScrollerX.forceFinished(true);
+                } else {
+                    scrollingX = false;
+                }
+
+                lastDownEventX = event.getX();
+
+                // interrupted scroll stops where it is, so only pressed item has to be redrawn
+                if(!scrollingX) {
+                    int pressed = geometry.getPositionFromTouch(getScrollX(), event.getX());
+                    if(pressed != pressedItem) {
+                        invalidateItem(pressedItem);
+                        pressedItem = pressed;
+                        invalidateItem(pressed);
+                    }
+                }
+
+                break;
+            case MotionEvent.ACTION_UP:
+
+                VelocityTracker velocityTracker = mVelocityTracker;
+                velocityTracker.computeCurrentVelocity(1000, maximumFlingVelocity);
+                int initialVelocityX = (int) velocityTracker.getXVelocity();
+
+                if(scrollingX && Math.abs(initialVelocityX) > mMinimumFlingVelocity) {
+                    flingX(initialVelocityX);
+                } else if (adapter != null) {
+                    float positionX = event.getX();
+                    if(!scrollingX) {
+
+                        int itemPos = geometry.getPositionOnScreen(positionX);
+                        int relativePos = itemPos - geometry.getSideItems();
 
                         if (relativePos == 0) {
                             selectItem();
@@ -562,12 +1235,16 @@ public class HorizontalPicker extends View {
                 }
 
             case MotionEvent.ACTION_CANCEL:
-                pressedItem = -1;
-                invalidate();
+                invalidateItem(pressedItem);
+                pressedItem = NO_ITEM;
 
                 if(leftEdgeEffect != null) {
                     leftEdgeEffect.onRelease();
                     rightEdgeEffect.onRelease();
+
+                    if(!leftEdgeEffect.isFinished() || !rightEdgeEffect.isFinished()) {
+                        invalidate(); // edge effects are drawn over whole picker
+                    }
                 }
 
                 break;
@@ -579,12 +1256,7 @@ public class HorizontalPicker extends View {
     private void selectItem() {
         // post to the UI Thread to avoid potential interference with the OpenGL Thread
         if (onItemClicked != null) {
-            post(new Runnable() {
-                @Override
-                public void run() {
-                    onItemClicked.onItemClicked(getSelectedItem());
-                }
-            });
+            post(clickedDispatcher);
         }
 
         adjustToNearestItemX();
@@ -626,7 +1298,114 @@ public class HorizontalPicker extends View {
 
     @Override
     public void computeScroll() {
-        computeScrollX();
+        // called once per frame while view is drawn, so scrollers and marquee are advanced in
+        // step with display refresh
+        boolean animating = computeScrollX();
+
+        long frameTime = AnimationUtils.currentAnimationTimeMillis();
+        boolean marqueeRunning = marquee.tick(frameTime);
+
+        scheduleScrollPosition();
+
+        if (animating) {
+            ViewCompat.postInvalidateOnAnimation(this);
+        } else if (marqueeRunning) {
+            // nothing else moves, so only label of selected item is redrawn
+            getInvalidatedItemBounds(geometry.getPositionFromCoordinates(getScrollX()), itemBounds);
+            ViewCompat.postInvalidateOnAnimation(this, itemBounds.left, itemBounds.top,
+                    itemBounds.right, itemBounds.bottom);
+        }
+    }
+
+    /**
+     * Calculates bounds of item relative to picker, as it is currently scrolled.
+     * @param position Position of item
+     * @param outBounds Rect to receive bounds of item
+     */
+    private void getItemBounds(int position, Rect outBounds) {
+        float itemWidth = geometry.getItemWidth() + geometry.getDividerSize();
+        float scrollOffset = getScrollX() - itemWidth * geometry.getSideItems();
+
+        int left = (int) (position * itemWidth - scrollOffset);
+        outBounds.set(left, 0, left + geometry.getItemWidth(), getHeight());
+    }
+
+    /**
+     * Calculates area that has to be invalidated to redraw item. Area is in scrolled coordinates,
+     * as expected by {@link #invalidate(Rect)}, and a pixel wider on each side, because items are
+     * drawn at fractional positions.
+     * @param position Position of item
+     * @param outBounds Rect to receive area of item
+     */
+    private void getInvalidatedItemBounds(int position, Rect outBounds) {
+        getItemBounds(position, outBounds);
+        outBounds.offset(getScrollX(), 0);
+        outBounds.inset(-1, 0);
+    }
+
+    /**
+     * Redraws only item at specified position.
+     * @param position Position of item or {@link #NO_ITEM}
+     */
+    private void invalidateItem(int position) {
+        if (position != NO_ITEM) {
+            getInvalidatedItemBounds(position, itemBounds);
+            invalidate(itemBounds);
+        }
+    }
+
+    /**
+     * Redraws only selected item, which is the only one marquee changes.
+     */
+    private void invalidateSelectedItem() {
+        invalidateItem(geometry.getPositionFromCoordinates(getScrollX()));
+    }
+
+    /**
+     * Schedules notification of scroll position listener if position has changed since it was
+     * last notified.
+     */
+    private void scheduleScrollPosition() {
+
+        if (onScrollPositionChanged == null || scrollPositionPending) {
+            return;
+        }
+
+        float position = geometry.getScrollPosition(getScrollX(), getItemCount());
+        if (position != lastScrollPosition) {
+            scrollPositionPending = true;
+            ViewCompat.postOnAnimation(this, scrollPositionDispatcher);
+        }
+    }
+
+    /**
+     * Notifies scroll position listener if position has changed since it was last notified.
+     * Throttled notification is postponed until the interval passes, without redrawing picker in
+     * the meantime.
+     * @param frameTime Time of current frame
+     */
+    private void dispatchScrollPosition(long frameTime) {
+
+        if (onScrollPositionChanged == null) {
+            return;
+        }
+
+        float position = geometry.getScrollPosition(getScrollX(), getItemCount());
+        if (position == lastScrollPosition) {
+            return;
+        }
+
+        long elapsed = frameTime - lastScrollPositionTime;
+        if (elapsed < scrollPositionInterval) {
+            scrollPositionPending = true;
+            ViewCompat.postOnAnimationDelayed(this, scrollPositionDispatcher,
+                    scrollPositionInterval - elapsed);
+            return;
+        }
+
+        lastScrollPosition = position;
+        lastScrollPositionTime = frameTime;
+        onScrollPositionChanged.onScrollPositionChanged(position);
     }
 
     @Override
@@ -642,16 +1421,162 @@ public class HorizontalPicker extends View {
         this.onItemClicked = onItemClicked;
     }
 
+    /**
+     * Sets listener that is notified about scroll position at most once per frame while picker is
+     * dragged or animated.
+     * @param listener Listener or null
+     */
+    public void setOnScrollPositionChangedListener(OnScrollPositionChanged listener) {
+        setOnScrollPositionChangedListener(listener, 0);
+    }
+
+    /**
+     * Sets listener that is notified about scroll position at most once per frame while picker is
+     * dragged or animated, and no more often than specified interval. Last position is always
+     * delivered.
+     * @param listener Listener or null
+     * @param intervalMillis Minimum time between notifications
+     */
+    public void setOnScrollPositionChangedListener(OnScrollPositionChanged listener, long intervalMillis) {
+        onScrollPositionChanged = listener;
+        scrollPositionInterval = intervalMillis;
+        lastScrollPosition = Float.NaN;
+        lastScrollPositionTime = 0;
+        invalidate();
+    }
+
+    /**
+     * Sets listener that is notified with index and value of selected item when picker shows range
+     * set with {@link #setRange(int, int, int, RangeAdapter.Formatter)}.
+     * @param onValueSelected Listener or null
+     */
+    public void setOnValueSelectedListener(OnValueSelected onValueSelected) {
+        this.onValueSelected = onValueSelected;
+    }
+
+    /**
+     * Sets listener that receives rendering metrics of picker. Metrics are collected only while
+     * listener is set.
+     * @param metricsListener Listener or null to stop reporting
+     */
+    public void setMetricsListener(PickerMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+        metricsFlingStartTime = -1;
+    }
+
     public int getSelectedItem() {
         int x = getScrollX();
-        return getPositionFromCoordinates(x);
+        return geometry.getItemIndex(geometry.getPositionFromCoordinates(x), getItemCount());
     }
 
     public void setSelectedItem(int index) {
         selectedItem = index;
+        rememberSelectedItemId();
         scrollToItem(index);
     }
 
+    /**
+     * Selects item at specified index. When animated, picker jumps over the middle of long
+     * distances and only scrolls through the last screen of items, so duration and number of
+     * drawn items stay the same no matter how far the item is. Item selected listener is notified
+     * when animation ends.
+     * @param index Index of item to select
+     * @param animate true to scroll to item with animation
+     */
+    public void setSelectedItem(int index, boolean animate) {
+
+        if (!animate || getWidth() == 0) {
+            setSelectedItem(index);
+            return;
+        }
+
+        flingScrollerX.forceFinished(true);
+        adjustScrollerX.forceFinished(true);
+        stopMarqueeIfNeeded();
+
+        int position = geometry.getNearestPosition(index, getScrollX(), getItemCount());
+        int items = position - geometry.getPositionFromCoordinates(getScrollX());
+
+        int maxItems = geometry.getSideItems() * 2 + 1;
+        if (Math.abs(items) > maxItems) {
+            // skip the middle, so only items that end up on screen are scrolled over
+            items = items > 0 ? maxItems : -maxItems;
+            scrollTo(geometry.getItemX(position - items), 0);
+        }
+
+        int duration = Math.min(SELECTOR_JUMP_MAX_DURATION_MILLIS,
+                SELECTOR_JUMP_ITEM_DURATION_MILLIS * Math.max(1, Math.abs(items)));
+
+        selectedItem = index;
+        rememberSelectedItemId();
+        previousScrollerX = Integer.MIN_VALUE;
+        flingScrollerX.startScroll(getScrollX(), 0, geometry.getItemX(position) - getScrollX(), 0,
+                duration);
+        startAnimationLayer();
+        invalidate();
+    }
+
+    /**
+     * @return true if first item follows the last one, so picker can be scrolled endlessly.
+     */
+    public boolean isCircular() {
+        return geometry.isCircular();
+    }
+
+    /**
+     * Sets whether items wrap around, so that first item follows the last one and picker can be
+     * scrolled endlessly in both directions. Edge effects are not shown in circular mode.
+     * @param circular true to wrap items around
+     */
+    public void setCircular(boolean circular) {
+        if (geometry.isCircular() != circular) {
+            int selected = getSelectedItem();
+
+            flingScrollerX.forceFinished(true);
+            adjustScrollerX.forceFinished(true);
+            scrollingX = false;
+            if (leftEdgeEffect != null) {
+                leftEdgeEffect.finish();
+                rightEdgeEffect.finish();
+            }
+
+            geometry.setCircular(circular);
+            setSelectedItem(Math.max(0, Math.min(selected, getItemCount() - 1)));
+
+            touchHelper.invalidateRoot();
+            invalidate();
+        }
+    }
+
+    /**
+     * @return true if picker is drawn into hardware layer while it animates.
+     */
+    public boolean isAnimationLayerEnabled() {
+        return animationLayerEnabled;
+    }
+
+    /**
+     * Sets whether picker is promoted to hardware layer while fling, adjusting scroll or marquee
+     * is running, and demoted again when they stop. Layer makes composition cheaper inside
+     * complex hierarchies, but uses additional graphics memory. Disabled by default.
+     * @param enabled true to use hardware layer during animations
+     */
+    public void setAnimationLayerEnabled(boolean enabled) {
+        animationLayerEnabled = enabled;
+        if (!enabled) {
+            stopAnimationLayer();
+        }
+    }
+
+    /**
+     * Sets policy that is asked every time picker would be promoted to hardware layer, e.g. to
+     * avoid layers on devices with low memory.
+     * @param policy Policy or null to always use layer when enabled
+     */
+    public void setAnimationLayerPolicy(AnimationLayerPolicy policy) {
+        animationLayerPolicy = policy;
+    }
+
     public int getMarqueeRepeatLimit() {
         return marqueeRepeatLimit;
     }
@@ -664,44 +1589,335 @@ public class HorizontalPicker extends View {
      * @return Number of items on each side of current item.
      */
     public int getSideItems() {
-        return sideItems;
+        return geometry.getSideItems();
     }
 
     public void setSideItems(int sideItems) {
-        if (this.sideItems < 0) {
+        if (sideItems < 0) {
             throw new IllegalArgumentException("Number of items on each side must be grater or equal to 0.");
-        } else if (this.sideItems != sideItems) {
-            this.sideItems = sideItems;
+        } else if (geometry.getSideItems() != sideItems) {
+            geometry.setSideItems(sideItems);
             calculateItemSize(getWidth(), getHeight());
         }
     }
 
     /**
-     * @return
+     * @return Number of items on each side of visible window for which text layouts are kept.
+     */
+    public int getLayoutCacheMargin() {
+        return layoutCacheMargin;
+    }
+
+    /**
+     * Sets number of items on each side of visible window for which text layouts are kept, so they
+     * don't have to be rebuilt when they scroll back in. Layouts of other items are recycled.
+     * @param layoutCacheMargin Number of items on each side
+     */
+    public void setLayoutCacheMargin(int layoutCacheMargin) {
+        if (layoutCacheMargin < 0) {
+            throw new IllegalArgumentException("Layout cache margin must be grater or equal to 0.");
+        }
+        this.layoutCacheMargin = layoutCacheMargin;
+    }
+
+    /**
+     * @return Maximum size of render cache in bytes or 0 if it is disabled.
+     */
+    public int getRenderCacheSize() {
+        return renderCache != null ? renderCache.maxSize() : 0;
+    }
+
+    /**
+     * Enables cache of rendered item labels. Labels are rendered into bitmaps once and reused
+     * while scrolling, until values, item size or text appearance change. Least recently used
+     * bitmaps are evicted when cache exceeds its size. Item with running marquee is always drawn
+     * directly.
+     * @param maxBytes Maximum size of cache in bytes or 0 to disable it (default)
+     */
+    public void setRenderCacheSize(int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Render cache size must be grater or equal to 0.");
+        }
+
+        if (maxBytes != getRenderCacheSize()) {
+            if (renderCache != null) {
+                renderCache.evictAll();
+            }
+            renderCache = maxBytes > 0 ? new RenderCache(maxBytes) : null;
+            invalidate();
+        }
+    }
+
+    /**
+     * @return Executor on which item layouts are prepared or null if they are built on UI thread.
+     */
+    public Executor getLayoutExecutor() {
+        return layoutExecutor;
+    }
+
+    /**
+     * Sets executor on which text of items is measured and ellipsized. Items are left empty until
+     * their layouts are ready, and all layouts requested in one frame are published together.
+     * Pass null to build layouts synchronously on UI thread (default).
+     * @param executor Executor for preparing layouts
+     */
+    public void setLayoutExecutor(Executor executor) {
+        if (layoutExecutor != executor) {
+            layoutExecutor = executor;
+
+            clearLayouts();
+            invalidate();
+        }
+    }
+
+    /**
+     * @return Strategy that creates text layouts of items.
+     */
+    public ItemLayoutStrategy getItemLayoutStrategy() {
+        return layoutStrategy;
+    }
+
+    /**
+     * Sets strategy that creates text layouts of items. By default
+     * {@link DefaultItemLayoutStrategy} is used.
+     * @param strategy Strategy for creating layouts or null to use default one
+     */
+    public void setItemLayoutStrategy(ItemLayoutStrategy strategy) {
+        if (strategy == null) {
+            strategy = new DefaultItemLayoutStrategy();
+        }
+
+        if (layoutStrategy != strategy) {
+            layoutStrategy = strategy;
+
+            // layouts of previous strategy may not be reusable by the new one
+            clearLayouts();
+            recycledLayouts.clear();
+            stopMarqueeIfNeeded();
+            if (getWidth() > 0) {
+                startMarqueeIfNeeded();
+            }
+            invalidate();
+        }
+    }
+
+    /**
+     * @return Cache of measured labels used by this picker or null if it is not shared.
+     */
+    public TextLayoutCache getTextLayoutCache() {
+        return textLayoutCache;
+    }
+
+    /**
+     * Sets cache of measured labels which can be shared between pickers, e.g.
+     * {@link TextLayoutCache#getDefault()}. Pickers with the same labels, text appearance and item
+     * width then measure each label only once. Pass null to measure labels per picker (default).
+     * @param cache Cache of measured labels
+     */
+    public void setTextLayoutCache(TextLayoutCache cache) {
+        textLayoutCache = cache;
+    }
+
+    /**
+     * @return Values set with {@link #setValues(CharSequence[])} or null if items are provided by
+     * custom adapter.
      */
     public CharSequence[] getValues() {
         return values;
     }
 
     /**
-     * Sets values to choose from
+     * Sets values to choose from. If picker already shows values, layouts of labels that did not
+     * change are kept, so only new labels are laid out.
      * @param values New values to choose from
      */
     public void setValues(CharSequence[] values) {
 
-        if (this.values != values) {
+        if (this.values != null && values != null) {
+            if (this.values != values) {
+                CharSequence[] oldValues = this.values;
+                this.values = values;
+                ((ValuesAdapter) adapter).values = values;
+                onValuesReplaced(oldValues, values);
+            }
+        } else if (this.values != values || values == null && adapter != null) {
+            setAdapterInternal(values != null ? new ValuesAdapter(values) : null);
             this.values = values;
+        }
+
+    }
 
-            if (this.values != null) {
-                layouts = new BoringLayout[this.values.length];
-                for (int i = 0; i < layouts.length; i++) {
-                    layouts[i] = new BoringLayout(this.values[i], textPaint, itemWidth, Layout.Alignment.ALIGN_CENTER,
-                            1f, 1f, boringMetrics, false, ellipsize, itemWidth);
+    /**
+     * Matches new values against old ones by content and keeps layouts, text directions and
+     * rendered labels of those that did not change.
+     * @param oldValues Values that were shown so far
+     * @param newValues New values
+     */
+    private void onValuesReplaced(CharSequence[] oldValues, CharSequence[] newValues) {
+
+        boolean changed = oldValues.length != newValues.length;
+        for (int i = 0; !changed && i < newValues.length; i++) {
+            changed = !isSameLabel(oldValues, newValues, i);
+        }
+        if (!changed) {
+            return; // nothing to update
+        }
+
+        if (selectedItem >= newValues.length) {
+            setSelectedItem(Math.max(0, newValues.length - 1));
+        }
+
+        // labels that stayed at the same position keep their layouts, others can be reused by
+        // any item with the same label
+        HashMap<CharSequence, Layout> reusable = null;
+        for (int i = layouts.size() - 1; i >= 0; i--) {
+            int index = layouts.keyAt(i);
+            if (!isSameLabel(oldValues, newValues, index)) {
+                if (reusable == null) {
+                    reusable = new HashMap<CharSequence, Layout>();
                 }
-            } else {
-                layouts = new BoringLayout[0];
+                reusable.put(oldValues[index], layouts.valueAt(i));
+                layouts.removeAt(i);
+            }
+        }
+
+        if (reusable != null) {
+            int scrollX = getScrollX();
+            int first = Math.max(0, geometry.getFirstVisibleItem(scrollX) - layoutCacheMargin);
+            int last = Math.min(newValues.length - 1, geometry.getLastVisibleItem(scrollX) + layoutCacheMargin);
+            for (int i = first; i <= last && !reusable.isEmpty(); i++) {
+                if (layouts.get(i) == null) {
+                    Layout layout = reusable.remove(newValues[i]);
+                    if (layout != null) {
+                        layouts.put(i, layout);
+                    }
+                }
+            }
+            for (Layout layout : reusable.values()) {
+                recycleLayout(layout);
+            }
+        }
+
+        for (int i = textDirResolved.nextSetBit(0); i >= 0; i = textDirResolved.nextSetBit(i + 1)) {
+            if (!isSameLabel(oldValues, newValues, i)) {
+                textDirResolved.clear(i);
+                textDirRtl.clear(i);
+            }
+        }
+
+        if (renderCache != null) {
+            for (Integer index : renderCache.snapshot().keySet()) {
+                if (!isSameLabel(oldValues, newValues, index)) {
+                    renderCache.remove(index);
+                }
+            }
+        }
+
+        if (!pendingLayouts.isEmpty()) {
+            layoutGeneration++;
+            pendingLayouts.clear();
+            requestedLayouts.clear();
+        }
+
+        int selected = getSelectedItem();
+        if (!isSameLabel(oldValues, newValues, selected) && getWidth() > 0 && !scrollingX) {
+            startMarqueeIfNeeded();
+        }
+
+        touchHelper.invalidateRoot();
+        invalidate();
+    }
+
+    /**
+     * @return true if item at specified index exists in both old and new values and has the same
+     * label.
+     */
+    private static boolean isSameLabel(CharSequence[] oldValues, CharSequence[] newValues, int index) {
+        if (index < 0 || index >= oldValues.length || index >= newValues.length) {
+            return false;
+        }
+
+        CharSequence oldValue = oldValues[index];
+        return oldValue == newValues[index] || oldValue != null && oldValue.equals(newValues[index]);
+    }
+
+    /**
+     * Sets range of numbers to choose from. Labels are formatted only for items that are shown,
+     * so setup does not depend on size of the range.
+     * @param min Value of first item
+     * @param max Maximum value of last item, it is included only if it is reachable with step
+     * @param step Difference between values of neighbouring items
+     * @param formatter Formatter for labels or null to show plain numbers
+     * @throws IllegalArgumentException if range has more than {@link RangeAdapter#MAX_COUNT}
+     * items or is otherwise invalid
+     */
+    public void setRange(int min, int max, int step, RangeAdapter.Formatter formatter) {
+        setAdapter(new RangeAdapter(min, max, step, formatter));
+    }
+
+    /**
+     * @return Value of selected item
+     * @throws IllegalStateException if range has not been set with
+     * {@link #setRange(int, int, int, RangeAdapter.Formatter)}
+     */
+    public int getSelectedValue() {
+        return getRangeAdapter().getValue(getSelectedItem());
+    }
+
+    /**
+     * Selects item with value closest to specified value.
+     * @param value Value to select
+     * @throws IllegalStateException if range has not been set with
+     * {@link #setRange(int, int, int, RangeAdapter.Formatter)}
+     */
+    public void setSelectedValue(int value) {
+        setSelectedItem(getRangeAdapter().getPosition(value));
+    }
+
+    private RangeAdapter getRangeAdapter() {
+        if (!(adapter instanceof RangeAdapter)) {
+            throw new IllegalStateException("Picker does not show range of values.");
+        }
+        return (RangeAdapter) adapter;
+    }
+
+    /**
+     * @return Adapter that provides items for picker
+     */
+    public PickerAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Sets adapter that provides items to choose from. Labels are requested only for items that
+     * are drawn or announced for accessibility.
+     * @param adapter New adapter
+     */
+    public void setAdapter(PickerAdapter adapter) {
+
+        if (this.adapter != adapter) {
+            setAdapterInternal(adapter);
+            values = null;
+        }
+
+    }
+
+    private void setAdapterInternal(PickerAdapter adapter) {
+
+        if (this.adapter != adapter) {
+            if (this.adapter != null) {
+                this.adapter.unregisterDataObserver(adapterObserver);
+            }
+            this.adapter = adapter;
+            if (adapter != null) {
+                adapter.registerDataObserver(adapterObserver);
             }
 
+            // layouts of new items are created when they are drawn
+            clearLayouts();
+            clearTextDirections();
+            rememberSelectedItemId();
+
             // start marque only if has already been measured
             if (getWidth() > 0) {
                 startMarqueeIfNeeded();
@@ -713,6 +1929,13 @@ public class HorizontalPicker extends View {
 
     }
 
+    /**
+     * @return Number of items in picker
+     */
+    private int getItemCount() {
+        return adapter != null ? adapter.getCount() : 0;
+    }
+
     @Override
     protected void onRestoreInstanceState(Parcelable state) {
 
@@ -781,84 +2004,168 @@ public class HorizontalPicker extends View {
         super.drawableStateChanged(); //TODO
     }
 
-    private int getPositionFromTouch(float x) {
-        return getPositionFromCoordinates((int) (getScrollX() - (itemWidth + dividerSize) * (sideItems + .5f) + x));
-    }
-
-    private void computeScrollX() {
+    /**
+     * Advances active scroller to current frame.
+     * @return true if scroller is still running and next frame is needed.
+     */
+    private boolean computeScrollX() {
         OverScroller scroller = flingScrollerX;
         if(scroller.isFinished()) {
             scroller = adjustScrollerX;
             if(scroller.isFinished()) {
-                return;
+                return false;
             }
         }
 
         if(scroller.computeScrollOffset()) {
 
+            metricsScrollerFrames++;
+
             int currentScrollerX = scroller.getCurrX();
             if(previousScrollerX == Integer.MIN_VALUE) {
                 previousScrollerX = scroller.getStartX();
             }
 
-            int range = getScrollRange();
-            if(previousScrollerX >= 0 && currentScrollerX < 0) {
-                leftEdgeEffect.onAbsorb((int) scroller.getCurrVelocity());
-            } else if(previousScrollerX <= range && currentScrollerX > range) {
-                rightEdgeEffect.onAbsorb((int) scroller.getCurrVelocity());
-            }
+            if(geometry.isCircular()) {
+                scrollBy(currentScrollerX - previousScrollerX, 0);
+            } else {
+                int range = getScrollRange();
+                if(previousScrollerX >= 0 && currentScrollerX < 0) {
+                    leftEdgeEffect.onAbsorb((int) scroller.getCurrVelocity());
+                } else if(previousScrollerX <= range && currentScrollerX > range) {
+                    rightEdgeEffect.onAbsorb((int) scroller.getCurrVelocity());
+                }
 
-            overScrollBy(currentScrollerX - previousScrollerX, 0, previousScrollerX, getScrollY(),
-                    getScrollRange(), 0, overscrollDistance, 0, false);
+                overScrollBy(currentScrollerX - previousScrollerX, 0, previousScrollerX, getScrollY(),
+                        getScrollRange(), 0, overscrollDistance, 0, false);
+            }
             previousScrollerX = currentScrollerX;
 
             if(scroller.isFinished()) {
                 onScrollerFinishedX(scroller);
             }
 
-            postInvalidate();
-//            postInvalidateOnAnimation(); // TODO
+            return true;
         }
+
+        return false;
     }
 
     private void flingX(int velocityX) {
 
+        if (metricsListener != null) {
+            metricsFlingStartTime = SystemClock.uptimeMillis();
+        }
+
+        int minX = 0;
+        int maxX = getScrollRange();
+        if (geometry.isCircular()) {
+            // half of int range, so scroller does not overflow while calculating distances
+            minX = Integer.MIN_VALUE / 2;
+            maxX = Integer.MAX_VALUE / 2;
+        }
+
         previousScrollerX = Integer.MIN_VALUE;
-        flingScrollerX.fling(getScrollX(), getScrollY(), -velocityX, 0, 0,
-                (int) (itemWidth + dividerSize) * (values.length - 1), 0, 0, getWidth() / 2, 0);
+        flingScrollerX.fling(getScrollX(), getScrollY(), -velocityX, 0, minX, maxX, 0, 0,
+                getWidth() / 2, 0);
+        snapFlingToItem(-velocityX, minX, maxX);
+        startAnimationLayer();
 
         invalidate();
     }
 
+    /**
+     * Changes velocity of fling that has just been started, so that it ends on the item closest
+     * to where it would end otherwise. Selection then settles in a single animation, without
+     * adjusting to nearest item afterwards. Distance of fling grows with velocity, so velocity is
+     * found with binary search.
+     * @param velocityX Velocity fling was started with
+     * @param minX Minimum scroll position of fling
+     * @param maxX Maximum scroll position of fling
+     */
+    private void snapFlingToItem(int velocityX, int minX, int maxX) {
+
+        int startX = flingScrollerX.getStartX();
+        int finalX = flingScrollerX.getFinalX();
+        if (finalX <= minX || finalX >= maxX) {
+            return; // fling stops at the edge, which is on item already
+        }
+
+        int targetX = geometry.getItemX(geometry.getPositionFromCoordinates(finalX));
+        int direction = velocityX > 0 ? 1 : -1;
+        if (targetX == finalX || (targetX - startX) * direction <= 0) {
+            return; // item is behind start of fling and can only be reached by adjusting
+        }
+
+        int bestVelocity = Math.abs(velocityX);
+        int bestError = Math.abs(finalX - targetX);
+
+        int low = 1;
+        int high = bestVelocity * 2;
+        while (low <= high && bestError > 0) {
+            int velocity = (low + high) >>> 1;
+            flingScrollerX.fling(startX, 0, velocity * direction, 0, minX, maxX, 0, 0,
+                    getWidth() / 2, 0);
+
+            int error = (flingScrollerX.getFinalX() - targetX) * direction;
+            if (Math.abs(error) < bestError) {
+                bestVelocity = velocity;
+                bestError = Math.abs(error);
+            }
+
+            if (error < 0) {
+                low = velocity + 1;
+            } else {
+                high = velocity - 1;
+            }
+        }
+
+        flingScrollerX.fling(startX, 0, bestVelocity * direction, 0, minX, maxX, 0, 0,
+                getWidth() / 2, 0);
+    }
+
     private void adjustToNearestItemX() {
 
         int x = getScrollX();
-        int item = Math.round(x / (itemWidth + dividerSize * 1f));
-
-        if(item < 0) {
-            item = 0;
-        } else if(item > values.length) {
-            item = values.length;
+        int item = geometry.getPositionFromCoordinates(x);
+
+        // in circular mode closest position is used, even if it is outside of the first round
+        if(!geometry.isCircular()) {
+            if(item < 0) {
+                item = 0;
+            } else if(item > getItemCount()) {
+                item = getItemCount();
+            }
         }
 
-        selectedItem = item;
+        selectedItem = geometry.getItemIndex(item, getItemCount());
+        rememberSelectedItemId();
 
-        int itemX = (itemWidth + (int) dividerSize) * item;
+        int itemX = geometry.getItemX(item);
 
         int deltaX = itemX - x;
 
+        if (Math.abs(deltaX) <= snapDistance) {
+            // fling ended on item or just next to it, which is not worth another animation
+            if (deltaX != 0) {
+                scrollTo(itemX, 0);
+            }
+            wrapScrollX();
+            updateAnimationLayer();
+            return;
+        }
+
         previousScrollerX = Integer.MIN_VALUE;
         adjustScrollerX.startScroll(x, 0, deltaX, 0, SELECTOR_ADJUSTMENT_DURATION_MILLIS);
+        startAnimationLayer();
         invalidate();
     }
 
     private void calculateItemSize(int w, int h) {
 
-        int items = sideItems * 2 + 1;
-        int totalPadding = ((int) dividerSize * (items - 1));
-        itemWidth = (w - totalPadding) / items;
+        geometry.setViewWidth(w);
 
-        itemClipBounds = new RectF(0, 0, itemWidth, h);
+        itemClipBounds = new RectF(0, 0, geometry.getItemWidth(), h);
         itemClipBoundsOffset = new RectF(itemClipBounds);
 
         scrollToItem(selectedItem);
@@ -871,6 +2178,20 @@ public class HorizontalPicker extends View {
     private void onScrollerFinishedX(OverScroller scroller) {
         if(scroller == flingScrollerX) {
             finishScrolling();
+        } else {
+            wrapScrollX();
+        }
+        updateAnimationLayer();
+    }
+
+    /**
+     * Moves scroll position in circular mode back to the first round of items, so it does not grow
+     * endlessly. Items on screen stay the same.
+     */
+    private void wrapScrollX() {
+        int x = geometry.getWrappedX(getScrollX(), getItemCount());
+        if(x != getScrollX()) {
+            scrollTo(x, 0);
         }
     }
 
@@ -880,13 +2201,8 @@ public class HorizontalPicker extends View {
         scrollingX = false;
         startMarqueeIfNeeded();
         // post to the UI Thread to avoid potential interference with the OpenGL Thread
-        if (onItemSelected != null) {
-            post(new Runnable() {
-                @Override
-                public void run() {
-                    onItemSelected.onItemSelected(getPositionFromCoordinates(getScrollX()));
-                }
-            });
+        if (onItemSelected != null || onValueSelected != null || metricsListener != null) {
+            post(selectedDispatcher);
         }
     }
 
@@ -894,14 +2210,17 @@ public class HorizontalPicker extends View {
 
         stopMarqueeIfNeeded();
 
+        if (!canRunMarquee()) {
+            return;
+        }
+
         int item = getSelectedItem();
 
-        if (layouts != null && layouts.length > item) {
-            Layout layout = layouts[item];
-            if (ellipsize == TextUtils.TruncateAt.MARQUEE
-                    && itemWidth < layout.getLineWidth(0)) {
-                marquee = new Marquee(this, layout, isRtl(values[item]));
-                marquee.start(marqueeRepeatLimit);
+        if (item >= 0 && item < getItemCount()) {
+            Layout layout = getLayout(item);
+            if (layout != null && ellipsize == TextUtils.TruncateAt.MARQUEE
+                    && geometry.getItemWidth() < layout.getLineWidth(0)) {
+                marquee.start(layout, isRtl(item), marqueeRepeatLimit);
             }
         }
 
@@ -909,75 +2228,201 @@ public class HorizontalPicker extends View {
 
     private void stopMarqueeIfNeeded() {
 
-        if (marquee != null) {
+        if (!marquee.isStopped()) {
             marquee.stop();
-            marquee = null;
         }
 
     }
 
-    private int getPositionOnScreen(float x) {
-        return (int) (x / (itemWidth + dividerSize));
+    /**
+     * @return true if picker is attached, shown and its window has focus, so marquee can run.
+     */
+    private boolean canRunMarquee() {
+        return attachedToWindow && isShown() && hasWindowFocus();
+    }
+
+    /**
+     * Stops marquee when picker can not be seen and starts it again when it becomes visible, so
+     * it does not keep main thread busy in background.
+     */
+    private void updateMarquee() {
+
+        if (marquee == null) {
+            return; // not initialized yet
+        }
+
+        if (!canRunMarquee()) {
+            stopMarqueeIfNeeded();
+        } else if (marquee.isStopped() && !scrollingX) {
+            startMarqueeIfNeeded();
+        }
+
     }
 
     private void smoothScrollBy(int i) {
-        int deltaMoveX = (itemWidth + (int) dividerSize) * i;
+        int deltaMoveX = geometry.getItemX(i);
         deltaMoveX = getRelativeInBound(deltaMoveX);
 
         previousScrollerX = Integer.MIN_VALUE;
         flingScrollerX.startScroll(getScrollX(), 0, deltaMoveX, 0);
         stopMarqueeIfNeeded();
+        startAnimationLayer();
         invalidate();
     }
 
     /**
-     * Calculates color for specific position on time picker
-     * @param scrollX
-     * @return
+     * Promotes picker to hardware layer while it animates, if enabled and allowed by policy.
+     * Pickers that already have a layer set by application are left alone.
      */
-    private int getColor(int scrollX, int position) {
-        int itemWithPadding = (int) (itemWidth + dividerSize);
-        float proportion = Math.abs(((1f * scrollX % itemWithPadding) / 2) / (itemWithPadding / 2f));
-        if(proportion > .5) {
-            proportion = (proportion - .5f);
-        } else {
-            proportion = .5f - proportion;
+    private void startAnimationLayer() {
+
+        if (animationLayerActive || !animationLayerEnabled || !isHardwareAccelerated()
+                || ViewCompat.getLayerType(this) != ViewCompat.LAYER_TYPE_NONE) {
+            return;
         }
-        proportion *= 2;
 
-        int defaultColor;
-        int selectedColor;
+        if (animationLayerPolicy == null || animationLayerPolicy.shouldUseAnimationLayer(this)) {
+            ViewCompat.setLayerType(this, ViewCompat.LAYER_TYPE_HARDWARE, null);
+            animationLayerActive = true;
+        }
 
-        if(pressedItem == position) {
-            defaultColor = textColor.getColorForState(new int[] { android.R.attr.state_pressed }, textColor.getDefaultColor());
-            selectedColor = textColor.getColorForState(new int[] { android.R.attr.state_pressed, android.R.attr.state_selected }, defaultColor);
-        } else {
-            defaultColor = textColor.getDefaultColor();
-            selectedColor = textColor.getColorForState(new int[] { android.R.attr.state_selected }, defaultColor);
+    }
+
+    /**
+     * Removes hardware layer once scrollers and marquee have stopped moving.
+     */
+    private void updateAnimationLayer() {
+
+        if (animationLayerActive && flingScrollerX.isFinished() && adjustScrollerX.isFinished()
+                && !marquee.isMoving()) {
+            stopAnimationLayer();
+        }
+
+    }
+
+    private void stopAnimationLayer() {
+
+        if (animationLayerActive) {
+            ViewCompat.setLayerType(this, ViewCompat.LAYER_TYPE_NONE, null);
+            animationLayerActive = false;
+        }
+
+    }
+
+    /**
+     * @return Text color of items
+     */
+    public ColorStateList getTextColor() {
+        return textColor;
+    }
+
+    /**
+     * Sets text color of items to a single color.
+     * @param color New text color
+     */
+    public void setTextColor(int color) {
+        setTextColor(ColorStateList.valueOf(color));
+    }
+
+    /**
+     * Sets text color of items. Pressed and selected states are used for pressed and selected
+     * item.
+     * @param colors New text colors
+     */
+    public void setTextColor(ColorStateList colors) {
+        if (colors == null) {
+            throw new NullPointerException();
         }
-        return (Integer) new ArgbEvaluator().evaluate(proportion, selectedColor, defaultColor);
+
+        textColor = colors;
+        updateTextColors();
+        invalidate();
+    }
+
+    /**
+     * Resolves text colors for states that are used while drawing, so they don't have to be
+     * resolved for every item on every frame.
+     */
+    private void updateTextColors() {
+        int defaultColor = textColor.getDefaultColor();
+        int pressedColor = textColor.getColorForState(STATE_PRESSED, defaultColor);
+        int selectedColor = textColor.getColorForState(STATE_SELECTED, defaultColor);
+        int pressedSelectedColor = textColor.getColorForState(STATE_PRESSED_SELECTED, pressedColor);
+
+        colors.setColors(defaultColor, pressedColor, selectedColor, pressedSelectedColor);
+    }
+
+    /**
+     * @return Text size of items in px.
+     */
+    public float getTextSize() {
+        return textPaint.getTextSize();
     }
 
     /**
      * Sets text size for items
      * @param size New item text size in px.
      */
-    private void setTextSize(float size) {
+    public void setTextSize(float size) {
         if(size != textPaint.getTextSize()) {
             textPaint.setTextSize(size);
+            onTextAppearanceChanged();
+        }
+    }
 
-            requestLayout();
-            invalidate();
+    /**
+     * Sets text size for items in specified unit, e.g. {@link TypedValue#COMPLEX_UNIT_SP} to
+     * follow user's font scale.
+     * @param unit Unit of size
+     * @param size New item text size
+     */
+    public void setTextSize(int unit, float size) {
+        setTextSize(TypedValue.applyDimension(unit, size, getResources().getDisplayMetrics()));
+    }
+
+    /**
+     * @return Typeface of items
+     */
+    public Typeface getTypeface() {
+        return textPaint.getTypeface();
+    }
+
+    /**
+     * Sets typeface for items.
+     * @param typeface New typeface or null for default one
+     */
+    public void setTypeface(Typeface typeface) {
+        if (textPaint.getTypeface() != typeface) {
+            textPaint.setTypeface(typeface);
+            onTextAppearanceChanged();
         }
     }
 
     /**
-     * Calculates item from x coordinate position.
-     * @param x Scroll position to calculate.
-     * @return Selected item from scrolling position in {param x}
+     * Updates cached font metrics after text size or typeface has changed. Layouts are only
+     * discarded and rebuilt when their items are drawn, and new measure pass is requested only if
+     * height of text changed.
      */
-    private int getPositionFromCoordinates(int x) {
-        return Math.round(x / (itemWidth + dividerSize));
+    private void onTextAppearanceChanged() {
+
+        int oldTextHeight = textHeight;
+        updateTextHeight();
+
+        remakeLayout();
+        if (getWidth() > 0) {
+            startMarqueeIfNeeded();
+        }
+
+        if (textHeight != oldTextHeight) {
+            requestLayout();
+        }
+        invalidate();
+
+    }
+
+    private void updateTextHeight() {
+        textPaint.getFontMetrics(fontMetrics);
+        textHeight = (int) (Math.abs(fontMetrics.ascent) + Math.abs(fontMetrics.descent));
     }
 
     /**
@@ -985,55 +2430,258 @@ public class HorizontalPicker extends View {
      * @param index Index of an item to scroll to
      */
     private void scrollToItem(int index) {
-        scrollTo((itemWidth + (int) dividerSize) * index, 0);
+        scrollTo(geometry.getItemX(index), 0);
         // invalidate() not needed because scrollTo() already invalidates the view
     }
 
     /**
      * Calculates relative horizontal scroll position to be within our scroll bounds.
-     * {@link com.wefika.horizontalpicker.HorizontalPicker#getInBoundsX(int)}
+     * {@link PickerGeometry#getInBoundsX(int, int)}
      * @param x Relative scroll position to calculate
      * @return Current scroll position + {param x} if is within our scroll bounds, otherwise it
      * will return min/max scroll position.
      */
     private int getRelativeInBound(int x) {
         int scrollX = getScrollX();
-        return getInBoundsX(scrollX + x) - scrollX;
+        return geometry.getInBoundsX(scrollX + x, getItemCount()) - scrollX;
+    }
+
+    private int getScrollRange() {
+        return geometry.getScrollRange(getItemCount());
+    }
+
+    public interface OnItemSelected {
+
+        public void onItemSelected(int index);
+
+    }
+
+    public interface OnItemClicked {
+
+        public void onItemClicked(int index);
+
+    }
+
+    public interface OnScrollPositionChanged {
+
+        /**
+         * Called when picker scrolls.
+         * @param position Fractional position of items, where whole numbers are indices of items
+         */
+        public void onScrollPositionChanged(float position);
+
+    }
+
+    public interface AnimationLayerPolicy {
+
+        /**
+         * Called before picker is promoted to hardware layer for animation.
+         * @param picker Picker that starts animating
+         * @return true if picker can use hardware layer
+         */
+        public boolean shouldUseAnimationLayer(HorizontalPicker picker);
+
+    }
+
+    public interface OnValueSelected {
+
+        public void onValueSelected(int index, int value);
+
+    }
+
+    public interface PickerMetricsListener {
+
+        /**
+         * Called after every frame picker draws.
+         * @param drawTimeNanos Time spent in onDraw
+         * @param itemsDrawn Number of items drawn
+         * @param itemCount Total number of items
+         * @param layoutsCreated Number of text layouts created since previous frame
+         * @param layoutsRecycled Number of recycled text layouts reused since previous frame
+         * @param scrollerFrames Number of scroller frames computed since previous frame
+         */
+        public void onFrameDrawn(long drawTimeNanos, int itemsDrawn, int itemCount,
+                int layoutsCreated, int layoutsRecycled, int scrollerFrames);
+
+        /**
+         * Called when item gets selected after fling.
+         * @param latencyMillis Time from start of fling to item selected dispatch
+         */
+        public void onFlingSettled(long latencyMillis);
+
     }
 
     /**
-     * Calculates x scroll position that is still in range of view scroller
-     * @param x Scroll position to calculate.
-     * @return {param x} if is within bounds of over scroller, otherwise it will return min/max
-     * value of scoll position.
+     * Updates picker when items of its adapter change. Height of picker does not depend on items,
+     * so none of the changes requires new measure pass.
      */
-    private int getInBoundsX(int x) {
+    private final class AdapterObserver extends PickerAdapter.DataObserver {
+
+        @Override
+        public void onChanged() {
+            clearLayouts();
+            clearTextDirections();
+
+            // item with stable id stays selected, even if it has moved
+            int itemCount = getItemCount();
+            int position = findItemPosition(selectedItemId);
+            if (position >= 0) {
+                if (position != selectedItem) {
+                    setSelectedItem(position);
+                }
+            } else if (selectedItem >= itemCount) {
+                setSelectedItem(Math.max(0, itemCount - 1));
+            }
+            rememberSelectedItemId();
+
+            pressedItem = NO_ITEM;
+            if (getWidth() > 0 && !scrollingX) {
+                startMarqueeIfNeeded();
+            }
+
+            touchHelper.invalidateRoot();
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            onItemRangeReplaced(positionStart, itemCount, itemCount);
+            rememberSelectedItemId();
+
+            int selected = getSelectedItem();
+            if (selected >= positionStart && selected < positionStart + itemCount
+                    && getWidth() > 0 && !scrollingX) {
+                startMarqueeIfNeeded();
+            }
+
+            touchHelper.invalidateRoot();
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            onItemRangeReplaced(positionStart, 0, itemCount);
+            updateSelectionForRange(positionStart, 0, itemCount);
+
+            pressedItem = NO_ITEM;
+            touchHelper.invalidateRoot();
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            onItemRangeReplaced(positionStart, itemCount, 0);
+            updateSelectionForRange(positionStart, itemCount, 0);
 
-        if(x < 0) {
-            x = 0;
-        } else if(x > ((itemWidth + (int) dividerSize) * (values.length - 1))) {
-            x = ((itemWidth + (int) dividerSize) * (values.length - 1));
+            pressedItem = NO_ITEM;
+            touchHelper.invalidateRoot();
+            invalidate();
         }
-        return x;
+
     }
 
-    private int getScrollRange() {
-        int scrollRange = 0;
-        if(values != null && values.length != 0) {
-            scrollRange = Math.max(0, ((itemWidth + (int) dividerSize) * (values.length - 1)));
+    /**
+     * Adapter backed by values set with {@link #setValues(CharSequence[])}.
+     */
+    private static final class ValuesAdapter extends PickerAdapter {
+
+        private CharSequence[] values;
+
+        ValuesAdapter(CharSequence[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int getCount() {
+            return values.length;
+        }
+
+        @Override
+        public CharSequence getItem(int position) {
+            return values[position];
         }
-        return scrollRange;
+
     }
 
-    public interface OnItemSelected {
+    /**
+     * Bitmaps of rendered item labels mapped by item index, bounded by their size in bytes.
+     */
+    private static final class RenderCache extends LruCache<Integer, Bitmap> {
 
-        public void onItemSelected(int index);
+        RenderCache(int maxBytes) {
+            super(maxBytes);
+        }
+
+        @Override
+        protected int sizeOf(Integer key, Bitmap value) {
+            return value.getRowBytes() * value.getHeight();
+        }
 
     }
 
-    public interface OnItemClicked {
+    /**
+     * Measures and ellipsizes text of items on background thread and posts results back to the
+     * picker.
+     */
+    private static final class LayoutTask implements Runnable {
+
+        /**
+         * Results are posted to main looper directly. View.post() from a background thread is
+         * lost when picker is detached before API 24, which would leave its items blank.
+         */
+        private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+
+        private final WeakReference<HorizontalPicker> mPicker;
+
+        final int generation;
+        final int[] items;
+        final CharSequence[] texts;
+        final TextLayoutCache.Entry[] entries;
+
+        private final TextPaint mPaint;
+        private final int mItemWidth;
+        private final TextUtils.TruncateAt mEllipsize;
+        private final TextLayoutCache mCache;
+
+        LayoutTask(HorizontalPicker picker, int generation, int[] items, CharSequence[] texts) {
+            mPicker = new WeakReference<HorizontalPicker>(picker);
+            this.generation = generation;
+            this.items = items;
+            this.texts = texts;
+            entries = new TextLayoutCache.Entry[items.length];
+
+            // paint is not thread safe, so background thread works with its own copy
+            mPaint = new TextPaint();
+            mPaint.set(picker.textPaint);
+            mItemWidth = picker.geometry.getItemWidth();
+            mEllipsize = picker.ellipsize;
+            mCache = picker.textLayoutCache;
+        }
 
-        public void onItemClicked(int index);
+        @Override
+        public void run() {
+
+            for (int i = 0; i < items.length; i++) {
+                HorizontalPicker picker = mPicker.get();
+                if (picker == null || picker.layoutGeneration != generation) {
+                    return; // results would be discarded anyway
+                }
+
+                entries[i] = mCache != null
+                        ? mCache.get(texts[i], mPaint, mItemWidth, mEllipsize)
+                        : TextLayoutCache.measure(texts[i], mPaint, mItemWidth, mEllipsize);
+            }
+
+            final HorizontalPicker picker = mPicker.get();
+            if (picker != null) {
+                sMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        picker.onLayoutsPrepared(LayoutTask.this);
+                    }
+                });
+            }
+        }
 
     }
 
@@ -1042,7 +2690,6 @@ public class HorizontalPicker extends View {
         private static final float MARQUEE_DELTA_MAX = 0.07f;
         private static final int MARQUEE_DELAY = 1200;
         private static final int MARQUEE_RESTART_DELAY = 1200;
-        private static final int MARQUEE_RESOLUTION = 1000 / 30;
         private static final int MARQUEE_PIXELS_PER_SECOND = 30;
 
         private static final byte MARQUEE_STOPPED = 0x0;
@@ -1050,14 +2697,14 @@ public class HorizontalPicker extends View {
         private static final byte MARQUEE_RUNNING = 0x2;
 
         private static final int MESSAGE_START = 0x1;
-        private static final int MESSAGE_TICK = 0x2;
         private static final int MESSAGE_RESTART = 0x3;
 
         private final WeakReference<HorizontalPicker> mView;
-        private final WeakReference<Layout> mLayout;
+        private Layout mLayout;
 
         private byte mStatus = MARQUEE_STOPPED;
-        private final float mScrollUnit;
+        private final float mPixelsPerMillisecond;
+        private long mLastFrameTime = -1;
         private float mMaxScroll;
         private float mMaxFadeScroll;
         private float mGhostStart;
@@ -1067,20 +2714,19 @@ public class HorizontalPicker extends View {
 
         private float mScroll;
 
+        /**
+         * Whether previous frame advanced the marquee. Running marquee stands still while view is
+         * neither focused nor selected, or while it waits to restart.
+         */
+        private boolean mMoving;
+
         private boolean mRtl;
 
-        Marquee(HorizontalPicker v, Layout l, boolean rtl) {
+        Marquee(HorizontalPicker v) {
             final float density = v.getContext().getResources().getDisplayMetrics().density;
-            float scrollUnit = (MARQUEE_PIXELS_PER_SECOND * density) / MARQUEE_RESOLUTION;
-            if (rtl) {
-                mScrollUnit = -scrollUnit;
-            } else {
-                mScrollUnit = scrollUnit;
-            }
+            mPixelsPerMillisecond = (MARQUEE_PIXELS_PER_SECOND * density) / 1000f;
 
             mView = new WeakReference<HorizontalPicker>(v);
-            mLayout = new WeakReference<Layout>(l);
-            mRtl = rtl;
         }
 
         @Override
@@ -1088,10 +2734,14 @@ public class HorizontalPicker extends View {
             switch (msg.what) {
                 case MESSAGE_START:
                     mStatus = MARQUEE_RUNNING;
-                    tick();
-                    break;
-                case MESSAGE_TICK:
-                    tick();
+                    mLastFrameTime = -1;
+
+                    // frames are driven by view's computeScroll from now on, and layer is promoted
+                    // by the first frame that actually moves
+                    final HorizontalPicker view = mView.get();
+                    if (view != null) {
+                        view.invalidateSelectedItem();
+                    }
                     break;
                 case MESSAGE_RESTART:
                     if (mStatus == MARQUEE_RUNNING) {
@@ -1104,42 +2754,86 @@ public class HorizontalPicker extends View {
             }
         }
 
-        void tick() {
+        /**
+         * Advances marquee by the time that passed since previous frame.
+         * @param frameTime Time of current animation frame in milliseconds
+         * @return true if marquee is still scrolling and needs next frame.
+         */
+        boolean tick(long frameTime) {
             if (mStatus != MARQUEE_RUNNING) {
-                return;
+                return false;
             }
 
-            removeMessages(MESSAGE_TICK);
-
             final HorizontalPicker view = mView.get();
-            final Layout layout = mLayout.get();
+            final Layout layout = mLayout;
             if (view != null && layout != null && (view.isFocused() || view.isSelected())) {
-                mScroll += mScrollUnit;
+                if (!mMoving) {
+                    mMoving = true;
+                    view.startAnimationLayer();
+                }
+                if (mLastFrameTime < 0) {
+                    mLastFrameTime = frameTime;
+                }
+
+                float scroll = (frameTime - mLastFrameTime) * mPixelsPerMillisecond;
+                mScroll += mRtl ? -scroll : scroll;
+                mLastFrameTime = frameTime;
+
                 if (Math.abs(mScroll) > mMaxScroll) {
                     mScroll = mMaxScroll;
                     if (mRtl) {
                         mScroll *= -1;
                     }
                     sendEmptyMessageDelayed(MESSAGE_RESTART, MARQUEE_RESTART_DELAY);
-                } else {
-                    sendEmptyMessageDelayed(MESSAGE_TICK, MARQUEE_RESOLUTION);
+                    stopMoving();
+                    return false;
                 }
-                view.invalidate();
+                return true;
             }
+
+            mLastFrameTime = -1;
+            stopMoving();
+            return false;
         }
 
         void stop() {
             mStatus = MARQUEE_STOPPED;
             removeMessages(MESSAGE_START);
             removeMessages(MESSAGE_RESTART);
-            removeMessages(MESSAGE_TICK);
             resetScroll();
+            stopMoving();
+        }
+
+        /**
+         * Lets view remove its hardware layer when marquee was the last thing moving.
+         */
+        private void stopMoving() {
+            if (mMoving) {
+                mMoving = false;
+
+                final HorizontalPicker view = mView.get();
+                if (view != null) {
+                    view.updateAnimationLayer();
+                }
+            }
         }
 
         private void resetScroll() {
             mScroll = 0.0f;
             final HorizontalPicker view = mView.get();
-            if (view != null) view.invalidate();
+            if (view != null) view.invalidateSelectedItem();
+        }
+
+        /**
+         * Starts marquee for new layout. Same instance is reused for all selected items.
+         * @param layout Layout of selected item
+         * @param rtl Whether text of item is right-to-left
+         * @param repeatLimit Number of times marquee is repeated or -1 to repeat forever
+         */
+        void start(Layout layout, boolean rtl, int repeatLimit) {
+            mLayout = layout;
+            mRtl = rtl;
+            start(repeatLimit);
         }
 
         void start(int repeatLimit) {
@@ -1149,11 +2843,11 @@ public class HorizontalPicker extends View {
             }
             mRepeatLimit = repeatLimit;
             final HorizontalPicker view = mView.get();
-            final Layout layout = mLayout.get();
+            final Layout layout = mLayout;
             if (view != null && layout != null) {
                 mStatus = MARQUEE_STARTING;
                 mScroll = 0.0f;
-                final int textWidth = view.itemWidth;
+                final int textWidth = view.geometry.getItemWidth();
                 final float lineWidth = layout.getLineWidth(0);
                 final float gap = textWidth / 3.0f;
                 mGhostStart = lineWidth - textWidth + gap;
@@ -1166,7 +2860,7 @@ public class HorizontalPicker extends View {
                     mGhostOffset *= -1;
                 }
 
-                view.invalidate();
+                view.invalidateSelectedItem();
                 sendEmptyMessageDelayed(MESSAGE_START, MARQUEE_DELAY);
             }
         }
@@ -1195,6 +2889,10 @@ public class HorizontalPicker extends View {
             return mStatus == MARQUEE_RUNNING;
         }
 
+        boolean isMoving() {
+            return mMoving;
+        }
+
         boolean isStopped() {
             return mStatus == MARQUEE_STOPPED;
         }
@@ -1244,6 +2942,7 @@ public class HorizontalPicker extends View {
     private static class PickerTouchHelper extends ExploreByTouchHelper {
 
         private HorizontalPicker mPicker;
+        private final Rect mItemBounds = new Rect();
 
         public PickerTouchHelper(HorizontalPicker picker) {
             super(picker);
@@ -1253,12 +2952,17 @@ public class HorizontalPicker extends View {
         @Override
         protected int getVirtualViewAt(float x, float y) {
 
-            float itemWidth = mPicker.itemWidth + mPicker.dividerSize;
-            float position = mPicker.getScrollX() + x - itemWidth * mPicker.sideItems;
+            PickerGeometry geometry = mPicker.geometry;
+            float itemWidth = geometry.getItemWidth() + geometry.getDividerSize();
+            float position = mPicker.getScrollX() + x - itemWidth * geometry.getSideItems();
 
             float item = position / itemWidth;
 
-            if (item < 0 || item > mPicker.values.length) {
+            if (geometry.isCircular()) {
+                return mPicker.getItemCount() > 0
+                        ? geometry.getItemIndex((int) Math.floor(item), mPicker.getItemCount())
+                        : INVALID_ID;
+            } else if (item < 0 || item > mPicker.getItemCount()) {
                 return INVALID_ID;
             }
 
@@ -1269,22 +2973,33 @@ public class HorizontalPicker extends View {
         @Override
         protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
 
-            float itemWidth = mPicker.itemWidth + mPicker.dividerSize;
-            float position = mPicker.getScrollX() - itemWidth * mPicker.sideItems;
+            PickerGeometry geometry = mPicker.geometry;
+            float itemWidth = geometry.getItemWidth() + geometry.getDividerSize();
+            float position = mPicker.getScrollX() - itemWidth * geometry.getSideItems();
 
             int first = (int) (position / itemWidth);
 
-            int items = mPicker.sideItems * 2 + 1;
+            int items = geometry.getSideItems() * 2 + 1;
 
             if (position % itemWidth != 0) { // if start next item is starting to appear on screen
                 items++;
             }
 
+            if (geometry.isCircular()) {
+                // every item is reported once, even if it is shown more than once
+                int itemCount = mPicker.getItemCount();
+                first = (int) Math.floor(position / itemWidth);
+                for (int i = 0; i < items && i < itemCount; i++) {
+                    virtualViewIds.add(geometry.getItemIndex(first + i, itemCount));
+                }
+                return;
+            }
+
             if (first < 0) {
                 items += first;
                 first = 0;
-            } else if (first + items > mPicker.values.length) {
-                items = mPicker.values.length - first;
+            } else if (first + items > mPicker.getItemCount()) {
+                items = mPicker.getItemCount() - first;
             }
 
             for (int i = 0; i < items; i++) {
@@ -1295,20 +3010,18 @@ public class HorizontalPicker extends View {
 
         @Override
         protected void onPopulateEventForVirtualView(int virtualViewId, AccessibilityEvent event) {
-            event.setContentDescription(mPicker.values[virtualViewId]);
+            event.setContentDescription(mPicker.adapter.getItem(virtualViewId));
         }
 
         @Override
         protected void onPopulateNodeForVirtualView(int virtualViewId, AccessibilityNodeInfoCompat node) {
 
-            float itemWidth = mPicker.itemWidth + mPicker.dividerSize;
-            float scrollOffset = mPicker.getScrollX() - itemWidth * mPicker.sideItems;
-
-            int left = (int) (virtualViewId * itemWidth - scrollOffset);
-            int right = left + mPicker.itemWidth;
+            int position = mPicker.geometry.getNearestPosition(virtualViewId, mPicker.getScrollX(),
+                    mPicker.getItemCount());
+            mPicker.getItemBounds(position, mItemBounds);
 
-            node.setContentDescription(mPicker.values[virtualViewId]);
-            node.setBoundsInParent(new Rect(left, 0, right, mPicker.getHeight()));
+            node.setContentDescription(mPicker.adapter.getItem(virtualViewId));
+            node.setBoundsInParent(mItemBounds);
             node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
 
         }
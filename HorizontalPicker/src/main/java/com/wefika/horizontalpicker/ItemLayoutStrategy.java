@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.text.BoringLayout;
+import android.text.Layout;
+import android.text.TextPaint;
+
+/**
+ * Creates text layouts for labels of items. Labels are already ellipsized and measured when
+ * layout is requested, so strategy only decides which kind of layout draws them. Layouts are
+ * always created on UI thread with paint of the picker.
+ */
+public abstract class ItemLayoutStrategy {
+
+    /**
+     * Creates layout for label of item. Label is centered in item when layout is as wide as item.
+     * Wider layouts are centered by the picker.
+     * @param text Ellipsized label of item, with line breaks replaced by spaces
+     * @param textWidth Width of label
+     * @param boring Metrics of label if it can be drawn by {@link BoringLayout}, otherwise null
+     * @param paint Paint of picker
+     * @param width Width of item
+     * @param recycled Layout that is not used any more and can be reused, or null
+     * @return Layout of label, can be {@code recycled} if it has been reused
+     */
+    public abstract Layout makeLayout(CharSequence text, int textWidth, BoringLayout.Metrics boring,
+            TextPaint paint, int width, Layout recycled);
+
+    /**
+     * Checks whether layout can be passed back to {@link #makeLayout} for reuse when its item
+     * scrolls out of the screen. Layouts that can not be reused are discarded.
+     * @param layout Layout that is not used any more
+     * @return true if layout can be reused
+     */
+    public boolean isRecyclable(Layout layout) {
+        return false;
+    }
+
+}
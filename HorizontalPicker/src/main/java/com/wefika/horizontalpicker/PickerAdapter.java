@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import java.util.ArrayList;
+
+/**
+ * Provides items for {@link HorizontalPicker}. Picker asks only for labels of items it is about to
+ * draw or announce for accessibility, so adapter can back large number of items without creating
+ * all of them up front.
+ */
+public abstract class PickerAdapter {
+
+    private final ArrayList<DataObserver> observers = new ArrayList<DataObserver>();
+
+    /**
+     * @return Number of items in data set.
+     */
+    public abstract int getCount();
+
+    /**
+     * Returns label for item at specified position.
+     * @param position Position of item in data set
+     * @return Label of item
+     */
+    public abstract CharSequence getItem(int position);
+
+    /**
+     * When ids are stable, picker keeps the selected item selected after
+     * {@link #notifyDataSetChanged()}, even if it has moved to another position.
+     * @return true if the same id always refers to the same item.
+     */
+    public boolean hasStableIds() {
+        return false;
+    }
+
+    /**
+     * Returns id of item at specified position. By default position is used as id.
+     * @param position Position of item in data set
+     * @return Id of item
+     */
+    public long getItemId(int position) {
+        return position;
+    }
+
+    /**
+     * Registers observer that is notified when items change.
+     * @param observer Observer to register
+     */
+    public void registerDataObserver(DataObserver observer) {
+        if (observers.contains(observer)) {
+            throw new IllegalStateException("Observer " + observer + " is already registered.");
+        }
+        observers.add(observer);
+    }
+
+    /**
+     * Unregisters previously registered observer.
+     * @param observer Observer to unregister
+     */
+    public void unregisterDataObserver(DataObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Notifies observers that whole data set has changed.
+     */
+    public final void notifyDataSetChanged() {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onChanged();
+        }
+    }
+
+    /**
+     * Notifies observers that label of item at specified position has changed.
+     * @param position Position of changed item
+     */
+    public final void notifyItemChanged(int position) {
+        notifyItemRangeChanged(position, 1);
+    }
+
+    /**
+     * Notifies observers that labels of items in specified range have changed.
+     * @param positionStart Position of first changed item
+     * @param itemCount Number of changed items
+     */
+    public final void notifyItemRangeChanged(int positionStart, int itemCount) {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onItemRangeChanged(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * Notifies observers that items have been inserted at specified position. Items that were
+     * previously at or after that position have moved by {@code itemCount}.
+     * @param positionStart Position of first inserted item
+     * @param itemCount Number of inserted items
+     */
+    public final void notifyItemRangeInserted(int positionStart, int itemCount) {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onItemRangeInserted(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * Notifies observers that items have been removed from specified position. Items that were
+     * previously after removed range have moved by {@code itemCount}.
+     * @param positionStart Position of first removed item
+     * @param itemCount Number of removed items
+     */
+    public final void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        for (int i = observers.size() - 1; i >= 0; i--) {
+            observers.get(i).onItemRangeRemoved(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * Receives notifications about changes of adapter items.
+     */
+    public static abstract class DataObserver {
+
+        public void onChanged() {
+        }
+
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+        }
+
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+        }
+
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+        }
+
+    }
+
+}
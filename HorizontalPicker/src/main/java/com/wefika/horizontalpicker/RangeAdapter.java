@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.util.LruCache;
+
+/**
+ * Adapter for range of numbers from minimum to maximum value with fixed step. Labels are formatted
+ * only when they are needed, so memory and setup time do not depend on size of the range.
+ */
+public class RangeAdapter extends PickerAdapter {
+
+    /**
+     * Maximum number of items in range. Scroll positions are in pixels and have to fit into int,
+     * which holds for items up to 4096 pixels wide.
+     */
+    public static final int MAX_COUNT = Integer.MAX_VALUE / 4096;
+
+    /**
+     * Number of formatted labels that are kept.
+     */
+    private static final int LABEL_CACHE_SIZE = 32;
+
+    private final int min;
+    private final int max;
+    private final int step;
+    private final int count;
+    private final Formatter formatter;
+
+    private final LruCache<Integer, CharSequence> labels = new LruCache<Integer, CharSequence>(LABEL_CACHE_SIZE);
+
+    /**
+     * Creates adapter for range of numbers.
+     * @param min Value of first item
+     * @param max Maximum value of last item, it is included only if it is reachable with step
+     * @param step Difference between values of neighbouring items
+     * @param formatter Formatter for labels or null to show plain numbers
+     * @throws IllegalArgumentException if step is not positive, maximum is lower than minimum or
+     * range has more than {@link #MAX_COUNT} items
+     */
+    public RangeAdapter(int min, int max, int step, Formatter formatter) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be greater than 0.");
+        } else if (max < min) {
+            throw new IllegalArgumentException("Maximum value must be greater or equal to minimum value.");
+        }
+
+        long count = ((long) max - min) / step + 1;
+        if (count > MAX_COUNT) {
+            throw new IllegalArgumentException("Range must not have more than " + MAX_COUNT + " items.");
+        }
+
+        this.min = min;
+        this.max = max;
+        this.step = step;
+        this.formatter = formatter;
+        this.count = (int) count;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public CharSequence getItem(int position) {
+
+        CharSequence label = labels.get(position);
+        if (label == null) {
+            int value = getValue(position);
+            label = formatter != null ? formatter.format(value) : Integer.toString(value);
+            labels.put(position, label);
+        }
+
+        return label;
+    }
+
+    /**
+     * @param position Position of item
+     * @return Value of item at specified position
+     */
+    public int getValue(int position) {
+        return (int) (min + (long) position * step);
+    }
+
+    /**
+     * Finds position of item with value closest to specified value.
+     * @param value Value of item
+     * @return Position of item
+     */
+    public int getPosition(int value) {
+        if (value <= min) {
+            return 0;
+        } else if (value >= max) {
+            return count - 1;
+        }
+
+        return (int) Math.min(count - 1, Math.round(((double) value - min) / step));
+    }
+
+    /**
+     * Formats values of items into labels.
+     */
+    public interface Formatter {
+
+        public CharSequence format(int value);
+
+    }
+
+}
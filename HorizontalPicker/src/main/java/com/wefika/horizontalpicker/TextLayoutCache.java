@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.graphics.Typeface;
+import android.text.BoringLayout;
+import android.text.Layout;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.LruCache;
+
+/**
+ * Cache of measured and ellipsized item labels that can be shared between pickers. Pickers that
+ * show the same labels with the same text appearance and item width, like several pickers with
+ * minutes from 00 to 59, measure each label only once. Cache is thread safe, so it can also be used
+ * when layouts are prepared in background.
+ */
+public final class TextLayoutCache {
+
+    /**
+     * Default size of shared cache in bytes.
+     */
+    public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+
+    private static TextLayoutCache sDefault;
+
+    private final LruCache<Key, Entry> mEntries;
+
+    /**
+     * Creates new cache.
+     * @param maxSize Maximum estimated size of cached labels in bytes
+     */
+    public TextLayoutCache(int maxSize) {
+        mEntries = new LruCache<Key, Entry>(maxSize) {
+            @Override
+            protected int sizeOf(Key key, Entry value) {
+                return key.sizeOf() + value.sizeOf();
+            }
+        };
+    }
+
+    /**
+     * @return Process wide cache of {@link #DEFAULT_MAX_SIZE} bytes.
+     */
+    public static synchronized TextLayoutCache getDefault() {
+        if (sDefault == null) {
+            sDefault = new TextLayoutCache(DEFAULT_MAX_SIZE);
+        }
+        return sDefault;
+    }
+
+    /**
+     * Returns measured label from cache or measures it and adds it to cache. Only labels backed by
+     * {@link String} are cached, as other char sequences may be mutable or styled.
+     * @param text Label to measure
+     * @param paint Paint label is drawn with
+     * @param width Width of item
+     * @param ellipsize Where label is ellipsized if it is wider than item, or null
+     * @return Measured label
+     */
+    Entry get(CharSequence text, TextPaint paint, int width, TextUtils.TruncateAt ellipsize) {
+
+        if (!(text instanceof String)) {
+            return measure(text, paint, width, ellipsize);
+        }
+
+        Key key = new Key((String) text, paint, width, ellipsize);
+        Entry entry = mEntries.get(key);
+        if (entry == null) {
+            entry = measure(text, paint, width, ellipsize);
+            mEntries.put(key, entry);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Removes all labels from cache.
+     */
+    public void evictAll() {
+        mEntries.evictAll();
+    }
+
+    /**
+     * Ellipsizes label to fit item width and measures it. Labels that can be drawn by
+     * {@link BoringLayout} also get its metrics. Items are drawn on a single line, so line breaks
+     * in label are replaced with spaces first.
+     * @param text Label to measure
+     * @param paint Paint label is drawn with
+     * @param width Width of item
+     * @param ellipsize Where label is ellipsized if it is wider than item, or null
+     * @return Measured label
+     */
+    static Entry measure(CharSequence text, TextPaint paint, int width, TextUtils.TruncateAt ellipsize) {
+
+        text = toSingleLine(text);
+
+        if (ellipsize != null && ellipsize != TextUtils.TruncateAt.MARQUEE) {
+            text = TextUtils.ellipsize(text, paint, width, ellipsize);
+        }
+
+        BoringLayout.Metrics boring = BoringLayout.isBoring(text, paint);
+        if (boring != null) {
+            return new Entry(text, boring.width, boring);
+        }
+
+        return new Entry(text, (int) Math.ceil(Layout.getDesiredWidth(text, paint)), null);
+    }
+
+    /**
+     * Replaces line and paragraph breaks with spaces. Spans of styled text are kept, as the text
+     * keeps its length.
+     * @param text Label
+     * @return Label without line breaks, or {@code text} itself if it has none
+     */
+    static CharSequence toSingleLine(CharSequence text) {
+
+        int length = text.length();
+        char[] chars = null;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029') {
+                if (chars == null) {
+                    chars = new char[length];
+                    TextUtils.getChars(text, 0, length, chars, 0);
+                }
+                chars[i] = ' ';
+            }
+        }
+
+        if (chars == null) {
+            return text;
+        } else if (text instanceof Spanned) {
+            SpannableString singleLine = new SpannableString(new String(chars));
+            TextUtils.copySpansFrom((Spanned) text, 0, length, null, singleLine, 0);
+            return singleLine;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Ellipsized label, its width and metrics if it is boring.
+     */
+    static final class Entry {
+
+        final CharSequence text;
+        final int width;
+        final BoringLayout.Metrics boring;
+
+        Entry(CharSequence text, int width, BoringLayout.Metrics boring) {
+            this.text = text;
+            this.width = width;
+            this.boring = boring;
+        }
+
+        int sizeOf() {
+            // object headers, metrics and chars of ellipsized text
+            return (boring != null ? 64 : 32) + text.length() * 2;
+        }
+
+    }
+
+    private static final class Key {
+
+        private final String mText;
+        private final float mTextSize;
+        private final float mTextScaleX;
+        private final float mTextSkewX;
+        private final Typeface mTypeface;
+        private final int mFlags;
+        private final int mWidth;
+        private final TextUtils.TruncateAt mEllipsize;
+        private final int mHash;
+
+        Key(String text, TextPaint paint, int width, TextUtils.TruncateAt ellipsize) {
+            mText = text;
+            mTextSize = paint.getTextSize();
+            mTextScaleX = paint.getTextScaleX();
+            mTextSkewX = paint.getTextSkewX();
+            mTypeface = paint.getTypeface();
+            mFlags = paint.getFlags();
+            mWidth = width;
+            mEllipsize = ellipsize;
+
+            int hash = text.hashCode();
+            hash = 31 * hash + Float.floatToIntBits(mTextSize);
+            hash = 31 * hash + Float.floatToIntBits(mTextScaleX);
+            hash = 31 * hash + Float.floatToIntBits(mTextSkewX);
+            hash = 31 * hash + (mTypeface != null ? mTypeface.hashCode() : 0);
+            hash = 31 * hash + mFlags;
+            hash = 31 * hash + mWidth;
+            hash = 31 * hash + (mEllipsize != null ? mEllipsize.hashCode() : 0);
+            mHash = hash;
+        }
+
+        int sizeOf() {
+            return 64 + mText.length() * 2;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return mHash == key.mHash
+                    && mWidth == key.mWidth
+                    && mFlags == key.mFlags
+                    && mEllipsize == key.mEllipsize
+                    && Float.compare(mTextSize, key.mTextSize) == 0
+                    && Float.compare(mTextScaleX, key.mTextScaleX) == 0
+                    && Float.compare(mTextSkewX, key.mTextSkewX) == 0
+                    && (mTypeface != null ? mTypeface.equals(key.mTypeface) : key.mTypeface == null)
+                    && mText.equals(key.mText);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHash;
+        }
+
+    }
+
+}
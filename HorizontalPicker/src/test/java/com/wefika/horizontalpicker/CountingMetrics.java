@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+/**
+ * Sums up metrics reported by picker, so tests can check work done over several frames.
+ */
+final class CountingMetrics implements HorizontalPicker.PickerMetricsListener {
+
+    int frames;
+    int itemsDrawn;
+    int itemCount;
+    int layoutsCreated;
+    int totalLayoutsCreated;
+    int totalLayoutsRecycled;
+    int maxFrameLayouts;
+    int flingsSettled;
+
+    void reset() {
+        frames = 0;
+        totalLayoutsCreated = 0;
+        totalLayoutsRecycled = 0;
+        maxFrameLayouts = 0;
+        flingsSettled = 0;
+    }
+
+    @Override
+    public void onFrameDrawn(long drawTimeNanos, int itemsDrawn, int itemCount,
+            int layoutsCreated, int layoutsRecycled, int scrollerFrames) {
+        frames++;
+        this.itemsDrawn = itemsDrawn;
+        this.itemCount = itemCount;
+        this.layoutsCreated = layoutsCreated;
+        totalLayoutsCreated += layoutsCreated;
+        totalLayoutsRecycled += layoutsRecycled;
+        maxFrameLayouts = Math.max(maxFrameLayouts, layoutsCreated + layoutsRecycled);
+    }
+
+    @Override
+    public void onFlingSettled(long latencyMillis) {
+        flingsSettled++;
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks how picker keeps its selection and layouts when items of its adapter change.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = Build.VERSION_CODES.LOLLIPOP)
+public class HorizontalPickerAdapterTest {
+
+    private static final int WIDTH = 500;
+    private static final int HEIGHT = 100;
+
+    private HorizontalPicker picker;
+    private ListAdapter adapter;
+    private CountingMetrics metrics;
+    private Canvas canvas;
+
+    @Before
+    public void setUp() {
+        picker = new HorizontalPicker(RuntimeEnvironment.application);
+        adapter = new ListAdapter(20);
+        picker.setAdapter(adapter);
+        metrics = new CountingMetrics();
+        picker.setMetricsListener(metrics);
+
+        picker.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        picker.layout(0, 0, WIDTH, HEIGHT);
+
+        canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void insertBeforeSelectionShiftsSelection() {
+        picker.setSelectedItem(5);
+
+        adapter.insert(0, 3);
+        adapter.notifyItemRangeInserted(0, 3);
+
+        assertEquals(8, picker.getSelectedItem());
+    }
+
+    @Test
+    public void insertAfterSelectionKeepsSelection() {
+        picker.setSelectedItem(5);
+
+        adapter.insert(8, 2);
+        adapter.notifyItemRangeInserted(8, 2);
+
+        assertEquals(5, picker.getSelectedItem());
+    }
+
+    @Test
+    public void removeBeforeSelectionShiftsSelection() {
+        picker.setSelectedItem(10);
+
+        adapter.remove(2, 3);
+        adapter.notifyItemRangeRemoved(2, 3);
+
+        assertEquals(7, picker.getSelectedItem());
+    }
+
+    @Test
+    public void removeOfSelectedItemSelectsFirstItemAfterRange() {
+        picker.setSelectedItem(5);
+
+        adapter.remove(4, 3);
+        adapter.notifyItemRangeRemoved(4, 3);
+
+        assertEquals(4, picker.getSelectedItem());
+    }
+
+    @Test
+    public void removeOfLastItemsSelectsNewLastItem() {
+        picker.setSelectedItem(18);
+
+        adapter.remove(15, 5);
+        adapter.notifyItemRangeRemoved(15, 5);
+
+        assertEquals(14, picker.getSelectedItem());
+    }
+
+    @Test
+    public void insertIntoEmptyAdapterSelectsFirstItem() {
+        adapter = new ListAdapter(0);
+        picker.setAdapter(adapter);
+
+        adapter.insert(0, 5);
+        adapter.notifyItemRangeInserted(0, 5);
+
+        assertEquals(0, picker.getSelectedItem());
+        assertEquals(0, picker.getScrollX());
+    }
+
+    @Test
+    public void insertKeepsLayoutsOfMovedItems() {
+        picker.setSelectedItem(10);
+        picker.draw(canvas);
+        metrics.reset();
+
+        adapter.insert(0, 3);
+        adapter.notifyItemRangeInserted(0, 3);
+        picker.draw(canvas);
+
+        assertEquals(0, metrics.totalLayoutsCreated);
+        assertEquals(0, metrics.totalLayoutsRecycled);
+    }
+
+    @Test
+    public void changeRebuildsOnlyLayoutOfChangedItem() {
+        picker.setSelectedItem(10);
+        picker.draw(canvas);
+        metrics.reset();
+
+        adapter.set(10, "Changed");
+        adapter.notifyItemChanged(10);
+        picker.draw(canvas);
+
+        assertEquals(1, metrics.totalLayoutsCreated + metrics.totalLayoutsRecycled);
+    }
+
+    @Test
+    public void moveBitsForwardMakesRoomForInsertedItems() {
+        BitSet bits = bits(2, 5);
+        HorizontalPicker.moveBits(bits, 3, 6);
+        assertEquals(bits(2, 8), bits);
+    }
+
+    @Test
+    public void moveBitsBackwardDropsRemovedItems() {
+        BitSet bits = bits(1, 4, 7);
+        HorizontalPicker.moveBits(bits, 5, 3);
+        assertEquals(bits(1, 5), bits);
+    }
+
+    @Test
+    public void moveBitsPastLastBitKeepsBits() {
+        BitSet bits = bits(1);
+        HorizontalPicker.moveBits(bits, 4, 6);
+        assertEquals(bits(1), bits);
+    }
+
+    @Test
+    public void stableIdKeepsItemSelectedAfterDataSetChange() {
+        adapter.stableIds = true;
+        picker.setSelectedItem(5);
+
+        adapter.insert(0, 3);
+        adapter.notifyDataSetChanged();
+
+        assertEquals(8, picker.getSelectedItem());
+    }
+
+    @Test
+    public void stableIdOfRemovedItemClampsSelection() {
+        adapter.stableIds = true;
+        picker.setSelectedItem(15);
+
+        adapter.remove(10, 10);
+        adapter.notifyDataSetChanged();
+
+        assertEquals(9, picker.getSelectedItem());
+    }
+
+    @Test
+    public void selectionStaysAtPositionWithoutStableIds() {
+        picker.setSelectedItem(5);
+
+        adapter.insert(0, 3);
+        adapter.notifyDataSetChanged();
+
+        assertEquals(5, picker.getSelectedItem());
+    }
+
+    private static BitSet bits(int... indices) {
+        BitSet bits = new BitSet();
+        for (int index : indices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    /**
+     * Adapter over a list of items, each with its own id.
+     */
+    static final class ListAdapter extends PickerAdapter {
+
+        private final ArrayList<String> labels = new ArrayList<String>();
+        private final ArrayList<Long> ids = new ArrayList<Long>();
+        private long nextId;
+
+        boolean stableIds;
+
+        ListAdapter(int count) {
+            insert(0, count);
+        }
+
+        void insert(int position, int count) {
+            for (int i = 0; i < count; i++) {
+                labels.add(position + i, "Item " + nextId);
+                ids.add(position + i, nextId++);
+            }
+        }
+
+        void set(int position, String label) {
+            labels.set(position, label);
+        }
+
+        void remove(int position, int count) {
+            for (int i = 0; i < count; i++) {
+                labels.remove(position);
+                ids.remove(position);
+            }
+        }
+
+        @Override
+        public int getCount() {
+            return labels.size();
+        }
+
+        @Override
+        public CharSequence getItem(int position) {
+            return labels.get(position);
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return stableIds;
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return ids.get(position);
+        }
+
+    }
+
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Build;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives picker headless through measure, drawing, drag and fling, and checks upper bounds of
+ * work done per frame, as reported by {@link HorizontalPicker.PickerMetricsListener}.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = Build.VERSION_CODES.LOLLIPOP)
+public class HorizontalPickerFrameTest {
+
+    private static final int WIDTH = 500;
+    private static final int HEIGHT = 100;
+
+    private static final int ITEMS = 1000;
+    private static final int FRAMES = 100;
+    private static final int FRAME_MILLIS = 16;
+    private static final int DRAG_FRAMES = 10;
+
+    /**
+     * Frames that animated selection of a far item surely runs for, as it takes 400ms.
+     */
+    private static final int ANIMATION_FRAMES = 20;
+
+    /**
+     * Bytes one frame may allocate on average on top of what drawing an empty view does. Picker
+     * does not allocate in onDraw once its layouts exist, so this only leaves room for noise.
+     */
+    private static final long MAX_FRAME_ALLOCATION = 64;
+
+    private FrameLayout parent;
+    private HorizontalPicker picker;
+    private CountingMetrics metrics;
+    private Canvas canvas;
+
+    @Before
+    public void setUp() {
+        picker = new HorizontalPicker(RuntimeEnvironment.application);
+        metrics = new CountingMetrics();
+        picker.setMetricsListener(metrics);
+
+        CharSequence[] values = new CharSequence[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            values[i] = "Item " + i;
+        }
+        picker.setValues(values);
+
+        // dragging asks parent not to intercept touch events
+        parent = new FrameLayout(RuntimeEnvironment.application);
+        parent.addView(picker);
+        layoutPicker();
+
+        canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void firstFrameCreatesLayoutsOnlyForVisibleItems() {
+        picker.setSelectedItem(ITEMS / 2);
+        drawFrame();
+
+        assertEquals(1, metrics.frames);
+        assertEquals(ITEMS, metrics.itemCount);
+        assertTrue(metrics.itemsDrawn <= visibleItems());
+        assertTrue(metrics.layoutsCreated <= visibleItems());
+    }
+
+    @Test
+    public void repeatedFramesDoNotCreateLayouts() {
+        drawFrame();
+        metrics.reset();
+
+        for (int i = 0; i < FRAMES; i++) {
+            drawFrame();
+        }
+
+        assertEquals(FRAMES, metrics.frames);
+        assertEquals(0, metrics.totalLayoutsCreated);
+        assertEquals(0, metrics.totalLayoutsRecycled);
+    }
+
+    @Test
+    public void repeatedFramesDoNotAllocate() {
+        Assume.assumeTrue(allocatedBytes() >= 0);
+
+        // canvas ignores draw calls, so Robolectric's recording of them is not counted
+        Canvas canvas = new IgnoringCanvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+        View empty = new View(RuntimeEnvironment.application);
+        empty.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        empty.layout(0, 0, WIDTH, HEIGHT);
+
+        // warm up, so layouts and paint state exist and code is compiled before allocations are
+        // counted
+        for (int i = 0; i < FRAMES; i++) {
+            picker.draw(canvas);
+            empty.draw(canvas);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < FRAMES; i++) {
+            empty.draw(canvas);
+        }
+        long emptyBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        for (int i = 0; i < FRAMES; i++) {
+            picker.draw(canvas);
+        }
+        long pickerBytes = allocatedBytes() - before;
+
+        long perFrame = (pickerBytes - emptyBytes) / FRAMES;
+        assertTrue("Frame allocated " + perFrame + " bytes", perFrame <= MAX_FRAME_ALLOCATION);
+    }
+
+    @Test
+    public void computeScrollDoesNotAllocate() {
+        Assume.assumeTrue(allocatedBytes() >= 0);
+
+        // first animations warm up scrollers, last one is measured until just before it ends,
+        // where item selected dispatch is posted
+        for (int i = 1; i <= 4; i++) {
+            picker.setSelectedItem(ITEMS / 10 * i, true);
+            measureComputeScroll(FRAMES);
+        }
+        picker.setSelectedItem(ITEMS / 2, true);
+
+        assertEquals(0, measureComputeScroll(ANIMATION_FRAMES));
+        measureComputeScroll(FRAMES);
+        assertEquals(ITEMS / 2, picker.getSelectedItem());
+    }
+
+    @Test
+    public void dragAndFlingReuseLayouts() {
+        drawFrame();
+        metrics.reset();
+
+        drag();
+        settle();
+
+        assertTrue(picker.getSelectedItem() > 0);
+        assertTrue(metrics.maxFrameLayouts <= visibleItems());
+
+        // layouts of items that scrolled out are reused by the ones that scrolled in
+        int window = visibleItems() + picker.getLayoutCacheMargin() * 2;
+        assertTrue("Created " + metrics.totalLayoutsCreated + " layouts",
+                metrics.totalLayoutsCreated <= window);
+    }
+
+    @Test
+    public void flingSettledIsReportedWithoutSelectionListeners() {
+        // settled fling is dispatched with post(), which only runs once picker is attached
+        Robolectric.setupActivity(Activity.class).setContentView(parent);
+        layoutPicker();
+        drawFrame();
+        metrics.reset();
+
+        drag();
+        int releasedX = picker.getScrollX();
+        settle();
+
+        // adjustment to nearest item never moves this far, so only a fling can
+        assertTrue("Picker did not fling", Math.abs(picker.getScrollX() - releasedX) > WIDTH / 2);
+        assertEquals(1, metrics.flingsSettled);
+    }
+
+    private void layoutPicker() {
+        picker.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        picker.layout(0, 0, WIDTH, HEIGHT); // calls onSizeChanged
+    }
+
+    /**
+     * Drags picker quickly to the left, one frame per move, and releases it. Release velocity
+     * is far above minimum fling velocity, so picker always flings.
+     */
+    private void drag() {
+        long downTime = SystemClock.uptimeMillis();
+        float x = WIDTH - 50;
+        picker.onTouchEvent(obtainEvent(downTime, MotionEvent.ACTION_DOWN, x));
+        for (int i = 0; i < DRAG_FRAMES; i++) {
+            x -= 30;
+            picker.onTouchEvent(obtainEvent(downTime, MotionEvent.ACTION_MOVE, x));
+            drawFrame();
+        }
+        picker.onTouchEvent(obtainEvent(downTime, MotionEvent.ACTION_UP, x));
+    }
+
+    /**
+     * Draws frames until fling and adjustment to nearest item run out.
+     */
+    private void settle() {
+        for (int i = 0; i < FRAMES * 3; i++) {
+            drawFrame();
+        }
+    }
+
+    /**
+     * Runs computeScroll() for specified number of frames.
+     * @param frames Number of frames
+     * @return Bytes allocated by computeScroll() itself
+     */
+    private long measureComputeScroll(int frames) {
+        long overhead = -allocatedBytes() + allocatedBytes();
+
+        long bytes = 0;
+        for (int i = 0; i < frames; i++) {
+            long before = allocatedBytes();
+            picker.computeScroll();
+            bytes += allocatedBytes() - before - overhead;
+            SystemClock.sleep(FRAME_MILLIS);
+        }
+        return bytes;
+    }
+
+    private void drawFrame() {
+        picker.computeScroll();
+        picker.draw(canvas);
+        SystemClock.sleep(FRAME_MILLIS);
+    }
+
+    /**
+     * @return Number of items that can be at least partially visible at once.
+     */
+    private int visibleItems() {
+        return picker.getSideItems() * 2 + 2;
+    }
+
+    private static MotionEvent obtainEvent(long downTime, int action, float x) {
+        return MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, HEIGHT / 2, 0);
+    }
+
+    /**
+     * @return Bytes allocated by current thread so far or -1 if JVM does not count them.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (!sunBean.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        sunBean.setThreadAllocatedMemoryEnabled(true);
+        return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Canvas that drops text and bitmaps, which Robolectric would otherwise record.
+     */
+    private static final class IgnoringCanvas extends Canvas {
+
+        IgnoringCanvas(Bitmap bitmap) {
+            super(bitmap);
+        }
+
+        @Override
+        public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawText(String text, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        }
+
+    }
+
+}
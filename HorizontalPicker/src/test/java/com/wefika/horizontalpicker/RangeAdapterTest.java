@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.os.Build;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks range math. Runs with Robolectric only because labels are kept in Android's LruCache.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = Build.VERSION_CODES.LOLLIPOP)
+public class RangeAdapterTest {
+
+    @Test
+    public void countIncludesBothEnds() {
+        assertEquals(11, new RangeAdapter(0, 10, 1, null).getCount());
+        assertEquals(1, new RangeAdapter(7, 7, 1, null).getCount());
+    }
+
+    @Test
+    public void maximumIsLeftOutIfStepDoesNotReachIt() {
+        RangeAdapter adapter = new RangeAdapter(0, 10, 3, null);
+
+        assertEquals(4, adapter.getCount());
+        assertEquals(9, adapter.getValue(3));
+    }
+
+    @Test
+    public void valuesFollowStepFromMinimum() {
+        RangeAdapter adapter = new RangeAdapter(-5, 5, 5, null);
+
+        assertEquals(3, adapter.getCount());
+        assertEquals(-5, adapter.getValue(0));
+        assertEquals(0, adapter.getValue(1));
+        assertEquals(5, adapter.getValue(2));
+    }
+
+    @Test
+    public void positionIsClosestItem() {
+        RangeAdapter adapter = new RangeAdapter(0, 100, 10, null);
+
+        assertEquals(4, adapter.getPosition(44));
+        assertEquals(5, adapter.getPosition(46));
+        assertEquals(0, adapter.getPosition(-20));
+        assertEquals(10, adapter.getPosition(120));
+    }
+
+    @Test
+    public void positionOfUnreachableMaximumIsLastItem() {
+        assertEquals(3, new RangeAdapter(0, 10, 3, null).getPosition(10));
+    }
+
+    @Test
+    public void wideStepCoversWholeIntRange() {
+        RangeAdapter adapter = new RangeAdapter(Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 16, null);
+
+        assertEquals(1 << 16, adapter.getCount());
+        assertEquals(Integer.MIN_VALUE, adapter.getValue(0));
+        assertEquals(Integer.MAX_VALUE - 0xffff, adapter.getValue(adapter.getCount() - 1));
+    }
+
+    @Test
+    public void largestRangeIsAccepted() {
+        assertEquals(RangeAdapter.MAX_COUNT,
+                new RangeAdapter(0, RangeAdapter.MAX_COUNT - 1, 1, null).getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyItemsAreRejected() {
+        new RangeAdapter(0, RangeAdapter.MAX_COUNT, 1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wholeIntRangeWithStepOneIsRejected() {
+        new RangeAdapter(Integer.MIN_VALUE, Integer.MAX_VALUE, 1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stepMustBePositive() {
+        new RangeAdapter(0, 10, 0, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maximumMustNotBeBelowMinimum() {
+        new RangeAdapter(10, 0, 1, null);
+    }
+
+    @Test
+    public void labelsAreFormattedOnce() {
+        RangeAdapter adapter = new RangeAdapter(0, 100, 10, new RangeAdapter.Formatter() {
+            @Override
+            public CharSequence format(int value) {
+                return value + " %";
+            }
+        });
+
+        CharSequence label = adapter.getItem(2);
+        assertEquals("20 %", label);
+        assertSame(label, adapter.getItem(2));
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker;
+
+import android.graphics.Typeface;
+import android.os.Build;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.style.StyleSpan;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = Build.VERSION_CODES.LOLLIPOP)
+public class TextLayoutCacheTest {
+
+    @Test
+    public void labelWithoutLineBreaksIsKept() {
+        String label = "Item 1";
+        assertSame(label, TextLayoutCache.toSingleLine(label));
+    }
+
+    @Test
+    public void lineBreaksAreReplacedWithSpaces() {
+        assertEquals("a b c d e", TextLayoutCache.toSingleLine("a\nb\rc d e").toString());
+    }
+
+    @Test
+    public void spansAreKeptWhenLineBreaksAreReplaced() {
+        SpannableString label = new SpannableString("bold\nlabel");
+        StyleSpan span = new StyleSpan(Typeface.BOLD);
+        label.setSpan(span, 0, 4, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+
+        Spanned singleLine = (Spanned) TextLayoutCache.toSingleLine(label);
+
+        assertEquals("bold label", singleLine.toString());
+        assertEquals(0, singleLine.getSpanStart(span));
+        assertEquals(4, singleLine.getSpanEnd(span));
+    }
+
+}
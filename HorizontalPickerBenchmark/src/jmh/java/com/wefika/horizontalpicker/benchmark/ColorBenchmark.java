@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker.benchmark;
+
+import com.wefika.horizontalpicker.core.PickerColors;
+import com.wefika.horizontalpicker.core.PickerGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks text color interpolation for all items visible in one frame, at scroll positions
+ * spread over the whole range.
+ */
+@State(Scope.Benchmark)
+public class ColorBenchmark {
+
+    private static final int VIEW_WIDTH = 1080;
+    private static final int FRAMES = 256;
+
+    @Param({ "10", "1000", "100000", "1000000" })
+    public int itemCount;
+
+    private PickerGeometry geometry;
+    private PickerColors colors;
+    private int[] scrollPositions;
+
+    @Setup
+    public void setUp() {
+        geometry = new PickerGeometry();
+        geometry.setDividerSize(8);
+        geometry.setSideItems(2);
+        geometry.setViewWidth(VIEW_WIDTH);
+
+        colors = new PickerColors();
+        colors.setColors(0x80000000, 0xFF888888, 0xFF000000, 0xFF444444);
+
+        int range = geometry.getScrollRange(itemCount);
+        scrollPositions = new int[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            scrollPositions[i] = (int) ((long) range * i / FRAMES);
+        }
+    }
+
+    @Benchmark
+    public void visibleItemColors(Blackhole blackhole) {
+        for (int x : scrollPositions) {
+            int first = Math.max(0, geometry.getFirstVisibleItem(x));
+            int last = Math.min(itemCount - 1, geometry.getLastVisibleItem(x));
+            for (int i = first; i <= last; i++) {
+                blackhole.consume(colors.getItemColor(geometry, x, i, first));
+            }
+        }
+    }
+
+    @Benchmark
+    public int blend() {
+        int color = 0;
+        for (int i = 0; i <= 100; i++) {
+            color ^= PickerColors.blend(0xFF000000, 0x80FFFFFF, i / 100f);
+        }
+        return color;
+    }
+
+}
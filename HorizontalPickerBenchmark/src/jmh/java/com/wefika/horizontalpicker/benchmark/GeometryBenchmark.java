@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker.benchmark;
+
+import com.wefika.horizontalpicker.core.PickerGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks position mapping and visible range calculations that run on every touch event and
+ * frame, across different number of items.
+ */
+@State(Scope.Benchmark)
+public class GeometryBenchmark {
+
+    private static final int VIEW_WIDTH = 1080;
+    private static final int SCROLL_POSITIONS = 1024;
+
+    @Param({ "10", "1000", "100000", "1000000" })
+    public int itemCount;
+
+    private PickerGeometry geometry;
+    private int[] scrollPositions;
+
+    @Setup
+    public void setUp() {
+        geometry = new PickerGeometry();
+        geometry.setDividerSize(8);
+        geometry.setSideItems(2);
+        geometry.setViewWidth(VIEW_WIDTH);
+
+        // positions spread over whole scroll range, including over scroll on both sides
+        int range = geometry.getScrollRange(itemCount);
+        scrollPositions = new int[SCROLL_POSITIONS];
+        for (int i = 0; i < SCROLL_POSITIONS; i++) {
+            scrollPositions[i] = (int) ((long) (range + VIEW_WIDTH) * i / SCROLL_POSITIONS) - VIEW_WIDTH / 2;
+        }
+    }
+
+    @Benchmark
+    public void positionFromCoordinates(Blackhole blackhole) {
+        for (int x : scrollPositions) {
+            blackhole.consume(geometry.getPositionFromCoordinates(x));
+        }
+    }
+
+    @Benchmark
+    public void positionFromTouch(Blackhole blackhole) {
+        for (int x : scrollPositions) {
+            blackhole.consume(geometry.getPositionFromTouch(x, VIEW_WIDTH / 3f));
+        }
+    }
+
+    @Benchmark
+    public void inBoundsX(Blackhole blackhole) {
+        for (int x : scrollPositions) {
+            blackhole.consume(geometry.getInBoundsX(x, itemCount));
+        }
+    }
+
+    @Benchmark
+    public void visibleRange(Blackhole blackhole) {
+        for (int x : scrollPositions) {
+            int first = Math.max(0, geometry.getFirstVisibleItem(x));
+            int last = Math.min(itemCount - 1, geometry.getLastVisibleItem(x));
+            blackhole.consume(first);
+            blackhole.consume(last);
+        }
+    }
+
+    /**
+     * Work done when new set of values is given to the picker: everything that depends on item
+     * count has to stay constant regardless of number of items.
+     */
+    @Benchmark
+    public void prepareValueSet(Blackhole blackhole) {
+        geometry.setViewWidth(VIEW_WIDTH);
+        int range = geometry.getScrollRange(itemCount);
+        int selected = geometry.getPositionFromCoordinates(geometry.getInBoundsX(range / 2, itemCount));
+        blackhole.consume(geometry.getFirstVisibleItem(geometry.getItemX(selected)));
+    }
+
+}
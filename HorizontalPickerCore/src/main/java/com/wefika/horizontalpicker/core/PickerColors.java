@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 Blaž Šolar
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker.core;
+
+/**
+ * Text colors of picker items and blending between them while scrolling. Colors are plain ARGB
+ * values, resolved from color state list by the view.
+ */
+public final class PickerColors {
+
+    private int defaultColor;
+    private int pressedColor;
+    private int selectedColor;
+    private int pressedSelectedColor;
+
+    /**
+     * Sets colors used for items.
+     * @param defaultColor Color of item in default state
+     * @param pressedColor Color of pressed item
+     * @param selectedColor Color of selected item
+     * @param pressedSelectedColor Color of pressed selected item
+     */
+    public void setColors(int defaultColor, int pressedColor, int selectedColor, int pressedSelectedColor) {
+        this.defaultColor = defaultColor;
+        this.pressedColor = pressedColor;
+        this.selectedColor = selectedColor;
+        this.pressedSelectedColor = pressedSelectedColor;
+    }
+
+    /**
+     * Calculates text color for specified item based on its position and state.
+     *
+     * @param geometry Geometry of picker items
+     * @param scrollX Current scroll position
+     * @param item Index of item to get text color for
+     * @param pressedItem Index of pressed item or value that matches no item
+     * @return Item text color
+     */
+    public int getItemColor(PickerGeometry geometry, int scrollX, int item, int pressedItem) {
+
+        // set color of text
+        int color = defaultColor;
+        int itemWithPadding = (int) (geometry.getItemWidth() + geometry.getDividerSize());
+        if (scrollX > itemWithPadding * item - itemWithPadding / 2 &&
+                scrollX < itemWithPadding * (item + 1) - itemWithPadding / 2) {
+            int position = scrollX - itemWithPadding / 2;
+            color = getColor(itemWithPadding, position, item == pressedItem);
+        } else if(item == pressedItem) {
+            color = pressedColor;
+        }
+
+        return color;
+
+    }
+
+    /**
+     * Calculates color for specific position on time picker
+     * @param itemWithPadding Width of item including divider
+     * @param scrollX
+     * @param pressed Whether item is pressed
+     * @return
+     */
+    private int getColor(int itemWithPadding, int scrollX, boolean pressed) {
+        float proportion = Math.abs(((1f * scrollX % itemWithPadding) / 2) / (itemWithPadding / 2f));
+        if(proportion > .5) {
+            proportion = (proportion - .5f);
+        } else {
+            proportion = .5f - proportion;
+        }
+        proportion *= 2;
+
+        int defaultColor;
+        int selectedColor;
+
+        if(pressed) {
+            defaultColor = pressedColor;
+            selectedColor = pressedSelectedColor;
+        } else {
+            defaultColor = this.defaultColor;
+            selectedColor = this.selectedColor;
+        }
+        return blend(selectedColor, defaultColor, proportion);
+    }
+
+    /**
+     * Interpolates between two ARGB colors, same as {@code android.animation.ArgbEvaluator} but
+     * without boxing.
+     * @param startColor Color at fraction 0
+     * @param endColor Color at fraction 1
+     * @param fraction Fraction between start and end color
+     * @return Interpolated color
+     */
+    public static int blend(int startColor, int endColor, float fraction) {
+        int startA = (startColor >> 24) & 0xff;
+        int startR = (startColor >> 16) & 0xff;
+        int startG = (startColor >> 8) & 0xff;
+        int startB = startColor & 0xff;
+
+        int endA = (endColor >> 24) & 0xff;
+        int endR = (endColor >> 16) & 0xff;
+        int endG = (endColor >> 8) & 0xff;
+        int endB = endColor & 0xff;
+
+        return ((startA + (int) (fraction * (endA - startA))) << 24) |
+                ((startR + (int) (fraction * (endR - startR))) << 16) |
+                ((startG + (int) (fraction * (endG - startG))) << 8) |
+                (startB + (int) (fraction * (endB - startB)));
+    }
+
+}
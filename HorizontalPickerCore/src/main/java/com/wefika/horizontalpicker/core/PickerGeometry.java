@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014 Blaž Šolar
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker.core;
+
+/**
+ * Size and position calculations of picker items. Does not depend on Android framework, so it can
+ * be tested and benchmarked on plain JVM.
+ */
+public final class PickerGeometry {
+
+    private int itemWidth;
+    private float dividerSize = 0;
+    private int sideItems = 1;
+    private boolean circular;
+
+    /**
+     * @return Width of single item without divider.
+     */
+    public int getItemWidth() {
+        return itemWidth;
+    }
+
+    /**
+     * @return Size of divider between items.
+     */
+    public float getDividerSize() {
+        return dividerSize;
+    }
+
+    public void setDividerSize(float dividerSize) {
+        this.dividerSize = dividerSize;
+    }
+
+    /**
+     * @return Number of items on each side of current item.
+     */
+    public int getSideItems() {
+        return sideItems;
+    }
+
+    public void setSideItems(int sideItems) {
+        this.sideItems = sideItems;
+    }
+
+    /**
+     * @return true if items repeat in both directions, so that first item follows the last one.
+     */
+    public boolean isCircular() {
+        return circular;
+    }
+
+    public void setCircular(boolean circular) {
+        this.circular = circular;
+    }
+
+    /**
+     * Calculates width of items so that current item and side items fill whole view.
+     * @param width Width of view
+     */
+    public void setViewWidth(int width) {
+        int items = sideItems * 2 + 1;
+        int totalPadding = ((int) dividerSize * (items - 1));
+        itemWidth = (width - totalPadding) / items;
+    }
+
+    /**
+     * Calculates item from x coordinate position.
+     * @param x Scroll position to calculate.
+     * @return Selected item from scrolling position in {param x}
+     */
+    public int getPositionFromCoordinates(int x) {
+        return Math.round(x / (itemWidth + dividerSize));
+    }
+
+    /**
+     * Calculates fractional position of items at scroll position, where whole numbers are
+     * positions at which items are selected. Position wraps around in circular mode.
+     * @param scrollX Scroll position
+     * @param itemCount Number of items
+     * @return Position of items
+     */
+    public float getScrollPosition(int scrollX, int itemCount) {
+        float itemWithPadding = itemWidth + dividerSize;
+        if (itemWithPadding <= 0) {
+            return 0;
+        }
+
+        float position = scrollX / itemWithPadding;
+        if (circular && itemCount > 0) {
+            position %= itemCount;
+            if (position < 0) {
+                position += itemCount;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Calculates item that is under touch position.
+     * @param scrollX Current scroll position
+     * @param x Touch position relative to view
+     * @return Item under touch
+     */
+    public int getPositionFromTouch(int scrollX, float x) {
+        return getPositionFromCoordinates((int) (scrollX - (itemWidth + dividerSize) * (sideItems + .5f) + x));
+    }
+
+    /**
+     * Calculates position of item on screen, where 0 is the left most item.
+     * @param x Touch position relative to view
+     * @return Position of item on screen
+     */
+    public int getPositionOnScreen(float x) {
+        return (int) (x / (itemWidth + dividerSize));
+    }
+
+    /**
+     * @param index Index of item
+     * @return Scroll position at which item is selected
+     */
+    public int getItemX(int index) {
+        return (itemWidth + (int) dividerSize) * index;
+    }
+
+    /**
+     * Calculates index of the left most item that is (at least partially) visible. Returned value
+     * is not clamped to the bounds of values.
+     * @param scrollX Current scroll position
+     * @return Index of first visible item
+     */
+    public int getFirstVisibleItem(int scrollX) {
+        return (int) Math.floor(scrollX / (itemWidth + dividerSize)) - sideItems;
+    }
+
+    /**
+     * Calculates index of the right most item that is (at least partially) visible. Returned value
+     * is not clamped to the bounds of values.
+     * @param scrollX Current scroll position
+     * @return Index of last visible item
+     */
+    public int getLastVisibleItem(int scrollX) {
+        return getFirstVisibleItem(scrollX) + sideItems * 2 + 1;
+    }
+
+    /**
+     * Calculates x scroll position that is still in range of view scroller
+     * @param x Scroll position to calculate.
+     * @param itemCount Number of items
+     * @return {param x} if is within bounds of over scroller, otherwise it will return min/max
+     * value of scoll position.
+     */
+    public int getInBoundsX(int x, int itemCount) {
+
+        if(circular) {
+            return x; // there are no bounds
+        } else if(x < 0) {
+            x = 0;
+        } else if(x > ((itemWidth + (int) dividerSize) * (itemCount - 1))) {
+            x = ((itemWidth + (int) dividerSize) * (itemCount - 1));
+        }
+        return x;
+    }
+
+    /**
+     * Calculates index of item that is shown at specified position. Positions outside of values
+     * wrap around in circular mode.
+     * @param position Position of item, as returned by {@link #getPositionFromCoordinates(int)}
+     * @param itemCount Number of items
+     * @return Index of item
+     */
+    public int getItemIndex(int position, int itemCount) {
+        if (!circular || itemCount <= 0) {
+            return position;
+        }
+
+        int index = position % itemCount;
+        return index < 0 ? index + itemCount : index;
+    }
+
+    /**
+     * Calculates position of item that is closest to scroll position. In circular mode every item
+     * is shown at positions that are {@code itemCount} apart.
+     * @param index Index of item
+     * @param scrollX Current scroll position
+     * @param itemCount Number of items
+     * @return Position of item closest to {@param scrollX}
+     */
+    public int getNearestPosition(int index, int scrollX, int itemCount) {
+        if (!circular || itemCount <= 0) {
+            return index;
+        }
+
+        int center = getPositionFromCoordinates(scrollX);
+        int offset = getItemIndex(index - center, itemCount);
+        if (offset > itemCount / 2) {
+            offset -= itemCount;
+        }
+        return center + offset;
+    }
+
+    /**
+     * Moves scroll position in circular mode by whole rounds of items, so it is between first item
+     * and the end of last one. Items shown at the returned position are the same.
+     * @param x Scroll position
+     * @param itemCount Number of items
+     * @return Equivalent scroll position
+     */
+    public int getWrappedX(int x, int itemCount) {
+        int round = getItemX(itemCount);
+        if (!circular || round <= 0) {
+            return x;
+        }
+
+        x %= round;
+        return x < 0 ? x + round : x;
+    }
+
+    /**
+     * @param itemCount Number of items
+     * @return Maximum scroll position
+     */
+    public int getScrollRange(int itemCount) {
+        int scrollRange = 0;
+        if(itemCount != 0) {
+            scrollRange = Math.max(0, ((itemWidth + (int) dividerSize) * (itemCount - 1)));
+        }
+        return scrollRange;
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker.core;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+
+public class PickerColorsTest {
+
+    private static final int DEFAULT = 0xff000000;
+    private static final int PRESSED = 0xff0000ff;
+    private static final int SELECTED = 0xffff0000;
+    private static final int PRESSED_SELECTED = 0xff00ff00;
+
+    private PickerGeometry geometry;
+    private PickerColors colors;
+
+    @Before
+    public void setUp() {
+        geometry = new PickerGeometry();
+        geometry.setSideItems(2);
+        geometry.setViewWidth(500); // 100px per item
+
+        colors = new PickerColors();
+        colors.setColors(DEFAULT, PRESSED, SELECTED, PRESSED_SELECTED);
+    }
+
+    @Test
+    public void itemAtScrollPositionIsSelected() {
+        assertEquals(SELECTED, colors.getItemColor(geometry, 300, 3, -1));
+        assertEquals(PRESSED_SELECTED, colors.getItemColor(geometry, 300, 3, 3));
+    }
+
+    @Test
+    public void itemsAwayFromScrollPositionAreDefaultOrPressed() {
+        assertEquals(DEFAULT, colors.getItemColor(geometry, 300, 5, -1));
+        assertEquals(PRESSED, colors.getItemColor(geometry, 300, 5, 5));
+    }
+
+    @Test
+    public void blendGoesFromStartToEndColor() {
+        assertEquals(DEFAULT, PickerColors.blend(DEFAULT, SELECTED, 0f));
+        assertEquals(SELECTED, PickerColors.blend(DEFAULT, SELECTED, 1f));
+    }
+
+    @Test
+    public void colorsDoNotAllocate() {
+        Assume.assumeTrue(allocatedBytes() >= 0);
+
+        // warm up, so measured loop runs compiled code
+        int hash = 0;
+        for (int i = 0; i < 5; i++) {
+            hash += computeColors();
+        }
+
+        long overhead = -allocatedBytes() + allocatedBytes();
+        long before = allocatedBytes();
+        hash += computeColors();
+        long bytes = allocatedBytes() - before - overhead;
+
+        assertEquals("Colors of " + hash + " allocated", 0, bytes);
+    }
+
+    /**
+     * Computes colors of visible items for every scroll position over 100 items.
+     * @return Sum of colors, so the work can not be optimized away
+     */
+    private int computeColors() {
+        int hash = 0;
+        for (int scrollX = 0; scrollX < 10000; scrollX++) {
+            int first = Math.max(0, geometry.getFirstVisibleItem(scrollX));
+            for (int item = first; item <= geometry.getLastVisibleItem(scrollX); item++) {
+                hash += colors.getItemColor(geometry, scrollX, item, 50);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return Bytes allocated by current thread so far or -1 if JVM does not count them.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        if (!sunBean.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        sunBean.setThreadAllocatedMemoryEnabled(true);
+        return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
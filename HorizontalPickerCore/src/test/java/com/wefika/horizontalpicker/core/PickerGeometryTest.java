@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 HorizontalPicker contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.wefika.horizontalpicker.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PickerGeometryTest {
+
+    private static final int ITEMS = 10;
+
+    private PickerGeometry geometry;
+
+    @Before
+    public void setUp() {
+        geometry = new PickerGeometry();
+        geometry.setSideItems(2);
+        geometry.setViewWidth(500); // 100px per item
+    }
+
+    @Test
+    public void itemWidthFillsView() {
+        assertEquals(100, geometry.getItemWidth());
+        assertEquals(300, geometry.getItemX(3));
+    }
+
+    @Test
+    public void positionIsRoundedToNearestItem() {
+        assertEquals(2, geometry.getPositionFromCoordinates(249));
+        assertEquals(3, geometry.getPositionFromCoordinates(251));
+    }
+
+    @Test
+    public void visibleItemsSurroundScrollPosition() {
+        assertEquals(0, geometry.getFirstVisibleItem(250));
+        assertEquals(5, geometry.getLastVisibleItem(250));
+    }
+
+    @Test
+    public void scrollIsClampedToItems() {
+        assertEquals(0, geometry.getInBoundsX(-50, ITEMS));
+        assertEquals(900, geometry.getInBoundsX(5000, ITEMS));
+        assertEquals(900, geometry.getScrollRange(ITEMS));
+        assertEquals(0, geometry.getScrollRange(0));
+    }
+
+    @Test
+    public void indexIsPositionWhenNotCircular() {
+        assertEquals(12, geometry.getItemIndex(12, ITEMS));
+        assertEquals(12, geometry.getNearestPosition(12, 0, ITEMS));
+        assertEquals(1050, geometry.getWrappedX(1050, ITEMS));
+    }
+
+    @Test
+    public void indexWrapsAroundInCircularMode() {
+        geometry.setCircular(true);
+
+        assertEquals(2, geometry.getItemIndex(12, ITEMS));
+        assertEquals(9, geometry.getItemIndex(-1, ITEMS));
+        assertEquals(0, geometry.getItemIndex(-10, ITEMS));
+    }
+
+    @Test
+    public void scrollPositionWrapsAroundInCircularMode() {
+        geometry.setCircular(true);
+
+        assertEquals(0.5f, geometry.getScrollPosition(1050, ITEMS), 0.001f);
+        assertEquals(9.5f, geometry.getScrollPosition(-50, ITEMS), 0.001f);
+    }
+
+    @Test
+    public void scrollIsUnboundedInCircularMode() {
+        geometry.setCircular(true);
+
+        assertEquals(-50, geometry.getInBoundsX(-50, ITEMS));
+        assertEquals(5000, geometry.getInBoundsX(5000, ITEMS));
+    }
+
+    @Test
+    public void nearestPositionIsInClosestRound() {
+        geometry.setCircular(true);
+        int scrollX = geometry.getItemX(21);
+
+        assertEquals(19, geometry.getNearestPosition(9, scrollX, ITEMS));
+        assertEquals(23, geometry.getNearestPosition(3, scrollX, ITEMS));
+        assertEquals(21, geometry.getNearestPosition(1, scrollX, ITEMS));
+    }
+
+    @Test
+    public void wrappedScrollShowsSameItems() {
+        geometry.setCircular(true);
+
+        assertEquals(340, geometry.getWrappedX(geometry.getItemX(23) + 40, ITEMS));
+        assertEquals(960, geometry.getWrappedX(-40, ITEMS));
+    }
+
+}